@@ -17,6 +17,12 @@
   archivesName.set(archives_base_name)
 }
 
+// Benchmarks live in their own source set so that they are never shipped in the mod JAR
+val jmh by sourceSets.creating {
+  compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+  runtimeClasspath += sourceSets.main.get().output + sourceSets.main.get().runtimeClasspath
+}
+
 repositories {
   maven { url = uri("https://maven.shedaniel.me/") }
   maven { url = uri("https://maven.terraformersmc.com/releases/") }
@@ -74,6 +80,11 @@
   // Include SpotBugs annotations for compilation of main and test
   compileOnly(libs.spotbugs.annotations)
   testCompileOnly(libs.spotbugs.annotations)
+
+  // JMH benchmarks
+  "jmhImplementation"(libs.jmh.core)
+  "jmhAnnotationProcessor"(libs.jmh.generator.annprocess)
+  "jmhRuntimeOnly"("com.google.guava:guava:30.1-jre")
 }
 
 tasks.processResources {
@@ -139,6 +150,30 @@
   toolVersion.set(libs.versions.spotbugs)
 }
 
+// JMH generates benchmark harness classes that SpotBugs would otherwise analyze
+tasks.matching { it.name == "spotbugsJmh" }.configureEach {
+  enabled = false
+}
+
+tasks.register<JavaExec>("jmh") {
+  group = "verification"
+
+  description = "Runs the JMH benchmarks, reporting throughput and allocation per operation."
+
+  classpath = jmh.runtimeClasspath
+  mainClass.set("org.openjdk.jmh.Main")
+  workingDir(project.file("run"))
+  doFirst { mkdir(workingDir) }
+
+  val resultsFile = layout.buildDirectory.file("reports/jmh/results.json").get().asFile
+  outputs.file(resultsFile)
+
+  // Extra JMH arguments can be passed with -PjmhArgs="..."
+  val extraArgs = (project.findProperty("jmhArgs") as String?)?.split(" ")?.filter { it.isNotBlank() }
+  args(listOf("-prof", "gc", "-rf", "json", "-rff", resultsFile.absolutePath) + (extraArgs ?: emptyList()))
+  doFirst { resultsFile.parentFile.mkdirs() }
+}
+
 tasks.jacocoTestReport {
   dependsOn(tasks.test) // tests are required to run before generating the report
 }
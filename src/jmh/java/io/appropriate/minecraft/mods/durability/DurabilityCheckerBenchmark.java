@@ -0,0 +1,161 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static net.minecraft.enchantment.Enchantments.MENDING;
+import static net.minecraft.item.Items.BEEF;
+import static net.minecraft.item.Items.DIAMOND_AXE;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.item.Items.NETHERITE_PICKAXE;
+import static net.minecraft.item.Items.WOODEN_SHOVEL;
+import static net.minecraft.text.Text.literal;
+
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.ShovelItem;
+import net.minecraft.item.ToolMaterial;
+import net.minecraft.recipe.Ingredient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks for the checks performed by {@link DurabilityChecker} on every attack.
+ *
+ * <p>Run with {@code ./gradlew jmh}; the GC profiler is enabled by default so that each benchmark
+ * reports {@code gc.alloc.rate.norm}, the number of bytes allocated per operation.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class DurabilityCheckerBenchmark {
+  private DurabilityChecker checker;
+
+  private ItemStack freshTool;
+  private ItemStack damagedTool;
+  private ItemStack otherDamagedTool;
+  private ItemStack namedStack;
+  private ItemStack enchantedStack;
+  private ItemStack lowTierStack;
+  private ItemStack exoticStack;
+
+  private boolean alternate;
+
+  /**
+   * Bootstraps Minecraft the same way {@code DurabilityCheckerTests} does.
+   */
+  @Setup(Level.Trial)
+  public void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+
+    freshTool = new ItemStack(NETHERITE_PICKAXE);
+
+    damagedTool = new ItemStack(DIAMOND_PICKAXE);
+    damagedTool.setDamage(damagedTool.getMaxDamage() - 1);
+
+    otherDamagedTool = new ItemStack(DIAMOND_AXE);
+    otherDamagedTool.setDamage(otherDamagedTool.getMaxDamage() - 1);
+
+    namedStack = new ItemStack(WOODEN_SHOVEL);
+    namedStack.setDamage(namedStack.getMaxDamage() / 2);
+    namedStack.setCustomName(literal("Me dear old spade"));
+
+    enchantedStack = new ItemStack(WOODEN_SHOVEL);
+    enchantedStack.setDamage(enchantedStack.getMaxDamage() / 2);
+    enchantedStack.addEnchantment(MENDING, 1);
+
+    lowTierStack = new ItemStack(WOODEN_SHOVEL);
+    lowTierStack.setDamage(lowTierStack.getMaxDamage() - 1);
+
+    exoticStack = new ItemStack(new ShovelItem(new Beef(), 0.0f, 0.0f, new Item.Settings()));
+  }
+
+  /**
+   * Starts each iteration with a fresh checker, so that no alert history carries over.
+   */
+  @Setup(Level.Iteration)
+  public void resetChecker() {
+    checker = new DurabilityChecker();
+  }
+
+  @Benchmark
+  public long freshTool() {
+    return checker.checkItemStackPacked(freshTool);
+  }
+
+  @Benchmark
+  public long damagedToolRepeated() {
+    return checker.checkItemStackPacked(damagedTool);
+  }
+
+  @Benchmark
+  public long damagedToolAlternating() {
+    alternate = !alternate;
+    return checker.checkItemStackPacked(alternate ? damagedTool : otherDamagedTool);
+  }
+
+  @Benchmark
+  public long namedStack() {
+    return checker.checkItemStackPacked(namedStack);
+  }
+
+  @Benchmark
+  public long enchantedStack() {
+    return checker.checkItemStackPacked(enchantedStack);
+  }
+
+  @Benchmark
+  public long lowTierStack() {
+    return checker.checkItemStackPacked(lowTierStack);
+  }
+
+  @Benchmark
+  public long exoticMaterial() {
+    return checker.checkItemStackPacked(exoticStack);
+  }
+
+  @Benchmark
+  public Object damagedToolAlternatingResult() {
+    alternate = !alternate;
+    return checker.checkItemStack(alternate ? damagedTool : otherDamagedTool);
+  }
+
+  static class Beef implements ToolMaterial {
+    public float getAttackDamage() {
+      return 0.0f;
+    }
+
+    public int getDurability() {
+      return 0;
+    }
+
+    public int getEnchantability() {
+      return 0;
+    }
+
+    public int getMiningLevel() {
+      return 0;
+    }
+
+    public float getMiningSpeedMultiplier() {
+      return 0.0f;
+    }
+
+    public Ingredient getRepairIngredient() {
+      return Ingredient.ofItems(BEEF);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.item.Items.NETHERITE_SWORD;
+import static net.minecraft.item.Items.WOODEN_SHOVEL;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Replays a recorded durability trace through a {@link DurabilityChecker}.
+ *
+ * <p>Pass {@code -p traceDir=/path/to/durability-alert-mod/traces} to replay a real session;
+ * otherwise a synthetic trace is recorded first.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TraceReplayBenchmark {
+  @Param("")
+  public String traceDir;
+
+  private List<Path> traceFiles;
+  private DurabilityAlertConfig config;
+
+  /**
+   * Bootstraps Minecraft the same way {@code DurabilityCheckerTests} does, and finds the trace.
+   *
+   * @throws IOException if the synthetic trace cannot be recorded
+   */
+  @Setup(Level.Trial)
+  public void initMinecraft() throws IOException {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+
+    var directory = traceDir.isEmpty() ? recordSyntheticTrace() : Path.of(traceDir);
+    traceFiles = DurabilityTraceReplayer.findTraceFiles(directory);
+    config = new DurabilityAlertConfig();
+  }
+
+  private static Path recordSyntheticTrace() throws IOException {
+    var directory = Files.createTempDirectory("durability-trace");
+    var stacks = new ItemStack[] {
+        new ItemStack(DIAMOND_PICKAXE), new ItemStack(NETHERITE_SWORD), new ItemStack(WOODEN_SHOVEL)
+    };
+
+    try (var recorder = DurabilityTraceRecorder.open(directory)) {
+      for (int i = 0; i < 1_000_000; i++) {
+        var slot = (i / 1000) % stacks.length;
+        var stack = stacks[slot];
+        stack.setDamage((stack.getDamage() + 1) % stack.getMaxDamage());
+        recorder.record(i / 2, stack, slot);
+      }
+    }
+    return directory;
+  }
+
+  @Benchmark
+  public DurabilityTraceReplayer.Result replay() throws IOException {
+    return DurabilityTraceReplayer.replay(traceFiles, config);
+  }
+}
@@ -133,6 +133,12 @@ public AbstractSliderListEntry setTextGetter(Function<T, Text> textGetter) {
     private boolean isSelected;
     private boolean isHovered;
 
+    private int layoutX = Integer.MIN_VALUE;
+    private int layoutY = Integer.MIN_VALUE;
+    private int layoutWidth = -1;
+    private int hoverMouseX = Integer.MIN_VALUE;
+    private int hoverMouseY = Integer.MIN_VALUE;
+
     /**
      * Creates a new slider cell with the given initial value and parent list entry.
      *
@@ -211,18 +217,56 @@ public void appendNarrations(NarrationMessageBuilder builder) {
       sliderWidget.appendNarrations(builder);
     }
 
+    /**
+     * Renders the cell's slider.
+     *
+     * <p>The slider is only moved or resized when the cell's position or width changes, its hover
+     * state is only recomputed when the mouse or the slider moves, and cells outside the visible
+     * part of the parent list are not rendered at all.
+     */
     @Override
     public void render(GuiGraphics graphics, int index, int y, int x,
         int entryWidth, int entryHeight, int mouseX, int mouseY, boolean isFocusedCell,
         float delta) {
-      sliderWidget.setX(x);
-      sliderWidget.setY(y);
-      sliderWidget.setWidth(entryWidth - 12);
-      sliderWidget.active = listListEntry.isEditable();
-      isHovered = sliderWidget.isMouseOver(mouseX, mouseY);
+      var parent = listListEntry.getParent();
+      if (parent != null && (y + getCellHeight() <= parent.top || y >= parent.bottom)) {
+        isHovered = false;
+        return;
+      }
+
+      var editable = listListEntry.isEditable();
+      var changed = updateLayout(x, y, entryWidth - 12) || sliderWidget.active != editable;
+      sliderWidget.active = editable;
+
+      if (changed || mouseX != hoverMouseX || mouseY != hoverMouseY) {
+        hoverMouseX = mouseX;
+        hoverMouseY = mouseY;
+        isHovered = sliderWidget.isMouseOver(mouseX, mouseY);
+      }
+
       sliderWidget.render(graphics, mouseX, mouseY, delta);
     }
 
+    private boolean updateLayout(int x, int y, int width) {
+      if (x == layoutX && y == layoutY && width == layoutWidth) {
+        return false;
+      }
+
+      if (x != layoutX) {
+        sliderWidget.setX(x);
+        layoutX = x;
+      }
+      if (y != layoutY) {
+        sliderWidget.setY(y);
+        layoutY = y;
+      }
+      if (width != layoutWidth) {
+        sliderWidget.setWidth(width);
+        layoutWidth = width;
+      }
+      return true;
+    }
+
     @Override
     public List<? extends Element> children() {
       return Collections.singletonList(sliderWidget);
@@ -2,7 +2,6 @@
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -13,6 +12,11 @@
 /**
  * A config entry list consisting of bounded {@link Integer} values that use one
  * {@link IntegerSliderListCell} per entry.
+ *
+ * <p>Cells store their values as primitive {@code int}s, and the bounds of the entry are kept as
+ * primitives so that dragging a slider doesn't unbox them on every event. Values can be snapped to
+ * a step with {@link #setStep(int)}, and collected into an {@code int[]} on save with
+ * {@link #setArraySaveConsumer(Consumer)}.
  */
 @ClientOnly
 public class IntegerSliderListEntry extends AbstractSliderListEntry<
@@ -20,6 +24,12 @@ public class IntegerSliderListEntry extends AbstractSliderListEntry<
   private static final Function<Integer, Text> DEFAULT_TEXT_GETTER =
       value -> Text.literal(String.format("Value: %d", value));
 
+  private final int minimumValue;
+  private final int maximumValue;
+  private final double sliderRange;
+  private int step = 1;
+  private Consumer<int[]> arraySaveConsumer;
+
   /**
    * Builds a new list entry for a given field, containing cells for each child entry.
    *
@@ -46,10 +56,106 @@ public IntegerSliderListEntry(Text fieldName, int minimum, int maximum, List<Int
     super(fieldName, minimum, maximum, value, defaultExpanded, tooltipSupplier, saveConsumer,
         defaultValue, cellDefaultValue, resetButtonKey, requiresRestart, deleteButtonEnabled,
         insertInFront, IntegerSliderListCell::new);
+    this.minimumValue = minimum;
+    this.maximumValue = maximum;
+    this.sliderRange = Math.abs((double) maximum - minimum);
     setTextGetter(DEFAULT_TEXT_GETTER);
     cells.forEach(IntegerSliderListCell::syncValueToSlider);
   }
 
+  /**
+   * Sets the function that returns a textual representation of a value.
+   *
+   * <p>The text for each value is built once and reused, so {@code textGetter} should always
+   * return the same text for the same value.
+   *
+   * @param textGetter the {@code Function} that returns a textual representation of a value; if
+   *     {@code null}, values will have a blank textual representation
+   * @return this list entry to allow method chaining
+   */
+  @Override
+  public AbstractSliderListEntry setTextGetter(Function<Integer, Text> textGetter) {
+    return super.setTextGetter(
+        textGetter == null ? null : new IntegerTextCache(minimum, maximum, textGetter));
+  }
+
+  /**
+   * Sets the step that slider values snap to, counting from the minimum value.
+   *
+   * @param step the distance between selectable values, which must be positive
+   * @return this list entry to allow method chaining
+   */
+  public IntegerSliderListEntry setStep(int step) {
+    if (step <= 0) {
+      throw new IllegalArgumentException("Step must be positive: " + step);
+    }
+    this.step = step;
+    return this;
+  }
+
+  /**
+   * Sets a {@code Consumer} to receive the values of every cell as an {@code int[]} on save,
+   * instead of the list passed to the constructor.
+   *
+   * @param arraySaveConsumer the {@code Consumer} to receive the values on save
+   * @return this list entry to allow method chaining
+   */
+  public IntegerSliderListEntry setArraySaveConsumer(Consumer<int[]> arraySaveConsumer) {
+    this.arraySaveConsumer = arraySaveConsumer;
+    return this;
+  }
+
+  /**
+   * The values of every cell, in order.
+   *
+   * @return a new array of values
+   */
+  public int[] getIntValues() {
+    var values = new int[cells.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = cells.get(i).getIntValue();
+    }
+    return values;
+  }
+
+  @Override
+  public void save() {
+    if (arraySaveConsumer != null) {
+      arraySaveConsumer.accept(getIntValues());
+    } else {
+      super.save();
+    }
+  }
+
+  /**
+   * Converts a slider position to a value, snapped to the nearest step and clamped to the bounds.
+   *
+   * @param position a slider position between 0.0 and 1.0
+   * @return the value at that position
+   */
+  int valueAt(double position) {
+    return valueAt(position, minimumValue, maximumValue, sliderRange, step);
+  }
+
+  static int valueAt(double position, int minimum, int maximum, double range, int step) {
+    var steps = Math.round(range * position / step);
+    return (int) Math.max(minimum, Math.min(maximum, minimum + steps * step));
+  }
+
+  /**
+   * Converts a value to a slider position.
+   *
+   * @param value a value within the bounds
+   * @return the slider position of that value, between 0.0 and 1.0
+   */
+  double positionOf(int value) {
+    return positionOf(value, minimumValue, sliderRange);
+  }
+
+  static double positionOf(int value, int minimum, double range) {
+    return range == 0 ? 0 : (value - (double) minimum) / range;
+  }
+
   @Override
   public IntegerSliderListEntry self() {
     return this;
@@ -57,12 +163,12 @@ public IntegerSliderListEntry self() {
 
   /**
    * A config entry within a parent {@link IntegerSliderListEntry} containing a single bounded
-   * {@link Integer} with an {@link net.minecraft.client.gui.widget.SliderWidget} for user display
-   * and input.
+   * {@code int} with an {@link net.minecraft.client.gui.widget.SliderWidget} for user display and
+   * input.
    */
   public static class IntegerSliderListCell extends AbstractSliderListEntry.AbstractSliderListCell<
       Integer, IntegerSliderListCell, IntegerSliderListEntry> {
-    private final AtomicInteger value;
+    private int value;
 
     /**
      * Creates a new slider cell with the given initial value and parent list entry.
@@ -76,26 +182,31 @@ public static class IntegerSliderListCell extends AbstractSliderListEntry.Abstra
     public IntegerSliderListCell(Integer value, IntegerSliderListEntry listListEntry) {
       super(value, listListEntry);
 
-      this.value = new AtomicInteger(value == null ? listListEntry.cellDefaultValue : value);
+      this.value = value == null ? listListEntry.cellDefaultValue : value;
     }
 
     @Override
     public Integer getValue() {
-      return value.get();
+      return value;
+    }
+
+    /**
+     * The current value of the slider, without boxing.
+     *
+     * @return the current value
+     */
+    public int getIntValue() {
+      return value;
     }
 
     @Override
     protected double getValueForSlider() {
-      return ((double) this.value.get() - listListEntry.minimum)
-          / Math.abs(listListEntry.maximum - listListEntry.minimum);
+      return listListEntry.positionOf(value);
     }
 
     @Override
     protected void setValueFromSlider(double value) {
-      this.value.set(
-          (int) (listListEntry.minimum
-              + Math.abs(listListEntry.maximum - listListEntry.minimum) * value)
-      );
+      this.value = listListEntry.valueAt(value);
     }
   }
 }
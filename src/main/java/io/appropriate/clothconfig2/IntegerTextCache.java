@@ -0,0 +1,51 @@
+package io.appropriate.minecraft.clothconfig2;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.function.Function;
+import net.minecraft.text.Text;
+
+/**
+ * Memoizes the textual representation of each value in a bounded range of integers, so that a
+ * slider only builds the {@link Text} for a value the first time it is shown.
+ *
+ * <p>Ranges wider than {@value #MAXIMUM_CACHED_VALUES} values, and values outside the range, are
+ * passed straight to the wrapped function.
+ */
+final class IntegerTextCache implements Function<Integer, Text> {
+  static final int MAXIMUM_CACHED_VALUES = 1024;
+
+  private final int minimum;
+  private final Function<Integer, Text> textGetter;
+  private final Text[] texts;
+
+  /**
+   * Wraps a text getter for values from {@code minimum} to {@code maximum}, inclusive.
+   *
+   * @param minimum the lowest value to cache
+   * @param maximum the highest value to cache
+   * @param textGetter the {@code Function} that returns a textual representation of a value
+   */
+  IntegerTextCache(int minimum, int maximum, Function<Integer, Text> textGetter) {
+    var size = (long) maximum - minimum + 1;
+
+    this.minimum = minimum;
+    this.textGetter = requireNonNull(textGetter);
+    this.texts = new Text[size > 0 && size <= MAXIMUM_CACHED_VALUES ? (int) size : 0];
+  }
+
+  @Override
+  public Text apply(Integer value) {
+    var index = (long) value - minimum;
+    if (index < 0 || index >= texts.length) {
+      return textGetter.apply(value);
+    }
+
+    var text = texts[(int) index];
+    if (text == null) {
+      text = textGetter.apply(value);
+      texts[(int) index] = text;
+    }
+    return text;
+  }
+}
@@ -2,7 +2,6 @@
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -13,6 +12,11 @@
 /**
  * A config entry list consisting of bounded {@link Long} values that use one
  * {@link LongSliderListCell} per entry.
+ *
+ * <p>Cells store their values as primitive {@code long}s, and the bounds of the entry are kept as
+ * primitives so that dragging a slider doesn't unbox them on every event. Values can be snapped to
+ * a step with {@link #setStep(long)}, and collected into a {@code long[]} on save with
+ * {@link #setArraySaveConsumer(Consumer)}.
  */
 @ClientOnly
 public class LongSliderListEntry extends AbstractSliderListEntry<
@@ -20,6 +24,12 @@ public class LongSliderListEntry extends AbstractSliderListEntry<
   private static final Function<Long, Text> DEFAULT_TEXT_GETTER =
       value -> Text.literal(String.format("Value: %d", value));
 
+  private final long minimumValue;
+  private final long maximumValue;
+  private final double sliderRange;
+  private long step = 1;
+  private Consumer<long[]> arraySaveConsumer;
+
   /**
    * Builds a new list entry for a given field, containing cells for each child entry.
    *
@@ -46,10 +56,91 @@ public LongSliderListEntry(Text fieldName, long minimum, long maximum, List<Long
     super(fieldName, minimum, maximum, value, defaultExpanded, tooltipSupplier, saveConsumer,
         defaultValue, cellDefaultValue, resetButtonKey, requiresRestart, deleteButtonEnabled,
         insertInFront, LongSliderListCell::new);
+    this.minimumValue = minimum;
+    this.maximumValue = maximum;
+    this.sliderRange = Math.abs((double) maximum - minimum);
     setTextGetter(DEFAULT_TEXT_GETTER);
     cells.forEach(LongSliderListCell::syncValueToSlider);
   }
 
+  /**
+   * Sets the step that slider values snap to, counting from the minimum value.
+   *
+   * @param step the distance between selectable values, which must be positive
+   * @return this list entry to allow method chaining
+   */
+  public LongSliderListEntry setStep(long step) {
+    if (step <= 0) {
+      throw new IllegalArgumentException("Step must be positive: " + step);
+    }
+    this.step = step;
+    return this;
+  }
+
+  /**
+   * Sets a {@code Consumer} to receive the values of every cell as a {@code long[]} on save,
+   * instead of the list passed to the constructor.
+   *
+   * @param arraySaveConsumer the {@code Consumer} to receive the values on save
+   * @return this list entry to allow method chaining
+   */
+  public LongSliderListEntry setArraySaveConsumer(Consumer<long[]> arraySaveConsumer) {
+    this.arraySaveConsumer = arraySaveConsumer;
+    return this;
+  }
+
+  /**
+   * The values of every cell, in order.
+   *
+   * @return a new array of values
+   */
+  public long[] getLongValues() {
+    var values = new long[cells.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = cells.get(i).getLongValue();
+    }
+    return values;
+  }
+
+  @Override
+  public void save() {
+    if (arraySaveConsumer != null) {
+      arraySaveConsumer.accept(getLongValues());
+    } else {
+      super.save();
+    }
+  }
+
+  /**
+   * Converts a slider position to a value, snapped to the nearest step and clamped to the bounds.
+   *
+   * @param position a slider position between 0.0 and 1.0
+   * @return the value at that position
+   */
+  long valueAt(double position) {
+    return valueAt(position, minimumValue, maximumValue, sliderRange, step);
+  }
+
+  static long valueAt(double position, long minimum, long maximum, double range, long step) {
+    var steps = Math.round(range * position / step);
+    var offset = steps > (maximum - minimum) / step ? maximum - minimum : steps * step;
+    return Math.max(minimum, Math.min(maximum, minimum + offset));
+  }
+
+  /**
+   * Converts a value to a slider position.
+   *
+   * @param value a value within the bounds
+   * @return the slider position of that value, between 0.0 and 1.0
+   */
+  double positionOf(long value) {
+    return positionOf(value, minimumValue, sliderRange);
+  }
+
+  static double positionOf(long value, long minimum, double range) {
+    return range == 0 ? 0 : (value - (double) minimum) / range;
+  }
+
   @Override
   public LongSliderListEntry self() {
     return this;
@@ -57,12 +148,12 @@ public LongSliderListEntry self() {
 
   /**
    * A config entry within a parent {@link LongSliderListEntry} containing a single bounded
-   * {@link Long} with an {@link net.minecraft.client.gui.widget.SliderWidget} for user display and
+   * {@code long} with an {@link net.minecraft.client.gui.widget.SliderWidget} for user display and
    * input.
    */
   public static class LongSliderListCell extends AbstractSliderListEntry.AbstractSliderListCell<
       Long, LongSliderListCell, LongSliderListEntry> {
-    private final AtomicLong value;
+    private long value;
 
     /**
      * Creates a new slider cell with the given initial value and parent list entry.
@@ -76,31 +167,31 @@ public static class LongSliderListCell extends AbstractSliderListEntry.AbstractS
     public LongSliderListCell(Long value, LongSliderListEntry listListEntry) {
       super(value, listListEntry);
 
-      this.value = new AtomicLong(value == null ? listListEntry.cellDefaultValue : value);
+      this.value = value == null ? listListEntry.cellDefaultValue : value;
+    }
+
+    @Override
+    public Long getValue() {
+      return value;
     }
 
     /**
-     * The current value of the slider.
+     * The current value of the slider, without boxing.
      *
      * @return the current value
      */
-    @Override
-    public Long getValue() {
-      return value.get();
+    public long getLongValue() {
+      return value;
     }
 
     @Override
     protected double getValueForSlider() {
-      return ((double) this.value.get() - listListEntry.minimum)
-          / Math.abs(listListEntry.maximum - listListEntry.minimum);
+      return listListEntry.positionOf(value);
     }
 
     @Override
     protected void setValueFromSlider(double value) {
-      this.value.set(
-          (long) (listListEntry.minimum
-              + Math.abs(listListEntry.maximum - listListEntry.minimum) * value)
-      );
+      this.value = listListEntry.valueAt(value);
     }
   }
 }
@@ -0,0 +1,171 @@
+package io.appropriate.minecraft.mods.durability;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.MutableText;
+import net.minecraft.text.Style;
+import net.minecraft.text.Text;
+import net.minecraft.util.Formatting;
+
+/**
+ * A bounded, least-recently-used cache of finished alert messages.
+ *
+ * <p>Messages are keyed by item, custom name, remaining damage percentage, color and, for
+ * predictive alerts, the estimated seconds remaining, so repeated alerts for the same tool at the
+ * same level reuse the same {@link Text} instead of building and styling a new one. Cached
+ * messages are never modified after they are built.
+ *
+ * <p>Messages carry English fallback text, so that they can be shown to players who don't have the
+ * mod installed when they are sent by a server.
+ *
+ * <p>This class is not thread-safe; it is only used from the client thread, or the server thread
+ * when alerts are sent by a server.
+ */
+final class AlertMessageCache {
+  static final int DEFAULT_CAPACITY = 64;
+
+  private static final String ALERT_KEY = "messages.durability-alert-mod.alert";
+  private static final String NAMED_ALERT_KEY = "messages.durability-alert-mod.alert-named";
+  private static final String PREDICTION_KEY = "messages.durability-alert-mod.prediction";
+  private static final String NAMED_PREDICTION_KEY =
+      "messages.durability-alert-mod.prediction-named";
+  private static final String USES_KEY = "messages.durability-alert-mod.uses";
+  private static final String NAMED_USES_KEY = "messages.durability-alert-mod.uses-named";
+
+  // Used by players who don't have the mod installed, when alerts are sent by a server
+  private static final String ALERT_FALLBACK = "Your %s is now at %d%% durability";
+  private static final String NAMED_ALERT_FALLBACK = "%s is now at %d%% durability";
+  private static final String PREDICTION_FALLBACK =
+      "Your %s will break in about %d seconds at this rate";
+  private static final String NAMED_PREDICTION_FALLBACK =
+      "%s will break in about %d seconds at this rate";
+  private static final String USES_FALLBACK = "Your %s has about %d uses left";
+  private static final String NAMED_USES_FALLBACK = "%s has about %d uses left";
+
+  private static final long CUTOFF_MASK = 0xFFFFL << 32;
+
+  private final Map<Key, Text> messages;
+  private long hits;
+  private long misses;
+
+  AlertMessageCache() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  AlertMessageCache(int capacity) {
+    this.messages = new LinkedHashMap<>(capacity * 4 / 3 + 1, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Key, Text> eldest) {
+        return size() > capacity;
+      }
+    };
+  }
+
+  /**
+   * Returns the alert message for a stack, building it only if it isn't cached.
+   *
+   * @param stack the stack the alert is for
+   * @param percent the remaining damage percentage
+   * @param color the RGB color of the message
+   * @return the finished alert message
+   */
+  Text getMessage(ItemStack stack, int percent, int color) {
+    return getMessage(stack, DurabilityChecker.PackedResult.pack(percent, 0, color));
+  }
+
+  /**
+   * Returns the alert message for a stack, building it only if it isn't cached.
+   *
+   * @param stack the stack the alert is for
+   * @param result the packed result returned by the {@link DurabilityChecker}
+   * @return the finished alert message
+   */
+  Text getMessage(ItemStack stack, long result) {
+    // The alert cutoff doesn't appear in the message, so it isn't part of the key
+    var key = new Key(stack.getItem(), customNameOf(stack), result & ~CUTOFF_MASK);
+
+    var message = messages.get(key);
+    if (message != null) {
+      hits++;
+      return message;
+    }
+
+    misses++;
+    message = buildMessage(stack, result);
+    messages.put(key, message);
+    return message;
+  }
+
+  private static String customNameOf(ItemStack stack) {
+    if (!stack.hasCustomName()) {
+      return null;
+    }
+
+    // The raw JSON is enough to tell names apart without parsing it into a Text
+    var display = stack.getSubNbt(ItemStack.DISPLAY_KEY);
+    return display == null ? null : display.getString(ItemStack.NAME_KEY);
+  }
+
+  private static Text buildMessage(ItemStack stack, long result) {
+    var prediction = DurabilityChecker.PackedResult.isPrediction(result);
+    var named = stack.hasCustomName();
+    Text stackName = stack.getName();
+
+    if (named) {
+      stackName = stackName.copy().formatted(Formatting.ITALIC);
+    }
+
+    var color = DurabilityChecker.PackedResult.getDamageMessageColor(result);
+    MutableText message;
+    if (prediction) {
+      message = Text.translatableWithFallback(
+          named ? NAMED_PREDICTION_KEY : PREDICTION_KEY,
+          named ? NAMED_PREDICTION_FALLBACK : PREDICTION_FALLBACK,
+          stackName, DurabilityChecker.PackedResult.getSecondsRemaining(result));
+    } else if (DurabilityChecker.PackedResult.isUsesRemaining(result)) {
+      message = Text.translatableWithFallback(
+          named ? NAMED_USES_KEY : USES_KEY,
+          named ? NAMED_USES_FALLBACK : USES_FALLBACK,
+          stackName, DurabilityChecker.PackedResult.getUsesRemaining(result));
+    } else {
+      message = Text.translatableWithFallback(
+          named ? NAMED_ALERT_KEY : ALERT_KEY,
+          named ? NAMED_ALERT_FALLBACK : ALERT_FALLBACK,
+          stackName, DurabilityChecker.PackedResult.getRemainingDamagePercent(result));
+    }
+
+    return message.setStyle(Style.EMPTY.withColor(color));
+  }
+
+  /**
+   * The number of messages that were found in the cache.
+   *
+   * @return the number of cache hits
+   */
+  long getHits() {
+    return hits;
+  }
+
+  /**
+   * The number of messages that had to be built.
+   *
+   * @return the number of cache misses
+   */
+  long getMisses() {
+    return misses;
+  }
+
+  /**
+   * The number of messages currently cached.
+   *
+   * @return the cache size
+   */
+  int size() {
+    return messages.size();
+  }
+
+  private record Key(Item item, String customName, long result) {
+  }
+}
@@ -0,0 +1,244 @@
+package io.appropriate.minecraft.mods.durability;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+import com.google.gson.annotations.SerializedName;
+import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.util.Identifier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per-item and per-tag alert rules, loaded from {@value #FILE_NAME} in the config directory.
+ *
+ * <p>The rules file holds a list of rules, each of which matches item ids or item tags prefixed
+ * with {@code #}, and decides whether matching items alert and the remaining durability percentage
+ * they must fall to before they do. For example:
+ *
+ * <pre>{@code
+ * {
+ *   "rules": [
+ *     { "items": ["#minecraft:pickaxes"], "alert": "always", "belowPercent": 30 },
+ *     { "items": ["minecraft:wooden_sword", "minecraft:wooden_pickaxe"], "alert": "never" }
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>The first rule matching an item applies, and items that no rule matches are handled using
+ * the regular config settings. Rules are only evaluated when a config is compiled, once per item.
+ * Since item tags are only known after joining a world, configs are compiled again whenever tags
+ * are loaded.
+ */
+final class AlertRules {
+  static final String FILE_NAME = "durability-alert-mod-rules.json";
+
+  /**
+   * The percentage limit used for items with no rule, or a rule without a percentage limit.
+   */
+  static final int NO_PERCENT_LIMIT = 100;
+
+  static final AlertRules EMPTY = new AlertRules(List.of());
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+  private static final Gson GSON = new Gson();
+
+  private static volatile AlertRules current = EMPTY;
+
+  private final List<CompiledRule> rules;
+
+  private AlertRules(List<CompiledRule> rules) {
+    this.rules = List.copyOf(rules);
+  }
+
+  /**
+   * The rules most recently loaded by {@link #load(Path)}.
+   *
+   * @return the current rules
+   */
+  static AlertRules getCurrent() {
+    return current;
+  }
+
+  /**
+   * Loads the rules file from the given config directory and makes it the current set of rules.
+   *
+   * <p>If the rules file does not exist, there are no rules. If it cannot be read or parsed, the
+   * error is logged and the previous rules are kept.
+   *
+   * @param configDir the config directory
+   * @return the current rules
+   */
+  static AlertRules load(Path configDir) {
+    var file = configDir.resolve(FILE_NAME);
+
+    try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+      current = parse(reader);
+    } catch (NoSuchFileException e) {
+      current = EMPTY;
+    } catch (IOException | JsonParseException | IllegalArgumentException e) {
+      LOGGER.error("Failed to load alert rules from {}, keeping the previous rules", file, e);
+    }
+
+    return current;
+  }
+
+  /**
+   * Parses a rules file.
+   *
+   * @param reader the contents of the rules file
+   * @return the parsed rules
+   * @throws JsonParseException if the rules file is not valid JSON
+   * @throws IllegalArgumentException if a rule is invalid
+   */
+  static AlertRules parse(Reader reader) {
+    var file = GSON.fromJson(reader, RulesFile.class);
+    if (file == null || file.rules == null) {
+      return EMPTY;
+    }
+
+    var compiled = new ArrayList<CompiledRule>(file.rules.size());
+    for (Rule rule : file.rules) {
+      compiled.add(CompiledRule.of(rule));
+    }
+
+    return new AlertRules(compiled);
+  }
+
+  boolean isEmpty() {
+    return rules.isEmpty();
+  }
+
+  /**
+   * Finds the first rule that matches an item.
+   *
+   * @param item the item
+   * @return the matching rule, or {@code null} if there is none
+   */
+  CompiledRule match(Item item) {
+    if (rules.isEmpty()) {
+      return null;
+    }
+
+    var id = Registries.ITEM.getId(item);
+    for (CompiledRule rule : rules) {
+      if (rule.matches(id, item)) {
+        return rule;
+      }
+    }
+
+    return null;
+  }
+
+  /**
+   * Whether matching items alert.
+   */
+  enum Policy {
+    /**
+     * Matching items always alert.
+     */
+    @SerializedName("always")
+    ALWAYS,
+
+    /**
+     * Matching items never alert.
+     */
+    @SerializedName("never")
+    NEVER,
+
+    /**
+     * Matching items alert if they are named or enchanted, and alerts for named or enchanted items
+     * are enabled.
+     */
+    @SerializedName("named_or_enchanted")
+    NAMED_OR_ENCHANTED,
+
+    /**
+     * Whether matching items alert is decided by the regular config settings, but the rule's
+     * percentage limit still applies.
+     */
+    @SerializedName("default")
+    DEFAULT
+  }
+
+  /**
+   * A rule that has been validated, with its item ids and tags parsed.
+   *
+   * @param itemIds the ids of the items matched by the rule
+   * @param tags the tags whose items are matched by the rule
+   * @param policy whether matching items alert
+   * @param belowPercent the remaining durability percentage at or below which matching items
+   *     alert
+   */
+  record CompiledRule(List<Identifier> itemIds, List<TagKey<Item>> tags, Policy policy,
+      int belowPercent) {
+    static CompiledRule of(Rule rule) {
+      if (rule == null || rule.items == null || rule.items.isEmpty()) {
+        throw new IllegalArgumentException("Every rule must match at least one item or tag");
+      }
+
+      var itemIds = new ArrayList<Identifier>();
+      var tags = new ArrayList<TagKey<Item>>();
+      for (String name : rule.items) {
+        var tag = name != null && name.startsWith("#");
+        var id = name == null ? null : Identifier.tryParse(tag ? name.substring(1) : name);
+        if (id == null) {
+          throw new IllegalArgumentException("Invalid item id or tag: " + name);
+        }
+
+        if (tag) {
+          tags.add(TagKey.of(RegistryKeys.ITEM, id));
+        } else {
+          itemIds.add(id);
+        }
+      }
+
+      var belowPercent = rule.belowPercent == null ? NO_PERCENT_LIMIT : rule.belowPercent;
+      if (belowPercent < 0 || belowPercent > 100) {
+        throw new IllegalArgumentException("belowPercent must be from 0 to 100: " + belowPercent);
+      }
+
+      return new CompiledRule(List.copyOf(itemIds), List.copyOf(tags),
+          rule.alert == null ? Policy.DEFAULT : rule.alert, belowPercent);
+    }
+
+    // The built-in registry entry is deprecated, but it is what ItemStack.isIn checks as well
+    @SuppressWarnings("deprecation")
+    boolean matches(Identifier id, Item item) {
+      if (itemIds.contains(id)) {
+        return true;
+      }
+
+      for (TagKey<Item> tag : tags) {
+        if (item.getRegistryEntry().isIn(tag)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+  @SuppressFBWarnings({"UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD"})
+  static final class RulesFile {
+    List<Rule> rules;
+  }
+
+  @SuppressFBWarnings({"UWF_UNWRITTEN_FIELD", "NP_UNWRITTEN_FIELD"})
+  static final class Rule {
+    List<String> items;
+    Policy alert;
+    Integer belowPercent;
+  }
+}
@@ -0,0 +1,93 @@
+package io.appropriate.minecraft.mods.durability;
+
+/**
+ * Coalesces alerts that arrive close together and limits how often alerts are sent.
+ *
+ * <p>An alert that is submitted opens a window of {@code coalesceTicks} ticks. Any other alerts
+ * submitted before that window closes replace it only if they are at least as severe, so that only
+ * the most severe alert of the window is sent. Once the window closes, the alert is released by
+ * {@link #poll(long)}, but never sooner than {@code minimumIntervalTicks} ticks after the
+ * previously released alert.
+ *
+ * <p>Time is measured in ticks supplied by the caller, so the scheduler can be driven by the game
+ * or by a simulated clock. This class is not thread-safe, except for
+ * {@link #setTiming(int, int)}.
+ *
+ * @param <T> the type of alert
+ */
+final class AlertScheduler<T> {
+  private volatile int coalesceTicks;
+  private volatile int minimumIntervalTicks;
+
+  private T pending;
+  private int pendingSeverity;
+  private long windowStart;
+  private long lastSent = Long.MIN_VALUE;
+
+  /**
+   * Creates a new scheduler.
+   *
+   * @param coalesceTicks how many ticks to wait for more severe alerts before sending one
+   * @param minimumIntervalTicks the minimum number of ticks between two sent alerts
+   */
+  AlertScheduler(int coalesceTicks, int minimumIntervalTicks) {
+    setTiming(coalesceTicks, minimumIntervalTicks);
+  }
+
+  /**
+   * Changes the timing of the scheduler. This may be called from any thread.
+   *
+   * @param coalesceTicks how many ticks to wait for more severe alerts before sending one
+   * @param minimumIntervalTicks the minimum number of ticks between two sent alerts
+   */
+  void setTiming(int coalesceTicks, int minimumIntervalTicks) {
+    this.coalesceTicks = Math.max(0, coalesceTicks);
+    this.minimumIntervalTicks = Math.max(0, minimumIntervalTicks);
+  }
+
+  /**
+   * Submits an alert.
+   *
+   * @param tick the current tick
+   * @param severity the severity of the alert, where lower values are more severe, such as the
+   *     remaining damage percentage
+   * @param alert the alert
+   */
+  void submit(long tick, int severity, T alert) {
+    if (pending == null) {
+      windowStart = tick;
+    } else if (severity > pendingSeverity) {
+      return;
+    }
+
+    pending = alert;
+    pendingSeverity = severity;
+  }
+
+  /**
+   * Releases the pending alert, if it is due.
+   *
+   * @param tick the current tick
+   * @return the alert to send now, or {@code null} if there is none
+   */
+  T poll(long tick) {
+    if (pending == null
+        || tick - windowStart < coalesceTicks
+        || (lastSent != Long.MIN_VALUE && tick - lastSent < minimumIntervalTicks)) {
+      return null;
+    }
+
+    var alert = pending;
+    pending = null;
+    lastSent = tick;
+    return alert;
+  }
+
+  /**
+   * Drops any pending alert and forgets when the last alert was sent.
+   */
+  void clear() {
+    pending = null;
+    lastSent = Long.MIN_VALUE;
+  }
+}
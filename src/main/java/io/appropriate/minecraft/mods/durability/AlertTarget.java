@@ -0,0 +1,78 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import net.minecraft.util.Hand;
+
+/**
+ * The parts of a player that {@link DurabilityAlertAttackCallback} needs to check held items and
+ * show alerts.
+ *
+ * <p>In the game, a target is backed by a {@link PlayerEntity}. Keeping the callback behind this
+ * interface lets tests and load simulations drive the whole alert pipeline with stand-in players,
+ * without a running client or world.
+ */
+interface AlertTarget {
+  /**
+   * Whether the target is a spectator, who never receives alerts.
+   *
+   * @return {@code true} if the target is a spectator
+   */
+  boolean isSpectator();
+
+  /**
+   * The stack held in one of the target's hands.
+   *
+   * @param hand the hand
+   * @return the stack in that hand
+   */
+  ItemStack getStackInHand(Hand hand);
+
+  /**
+   * The hotbar slot of the target's main hand.
+   *
+   * @return the selected hotbar slot
+   */
+  int getSelectedSlot();
+
+  /**
+   * Shows an alert message to the target.
+   *
+   * @param message the message
+   */
+  void sendAlert(Text message);
+
+  /**
+   * An alert target backed by a player.
+   *
+   * @param player the player
+   */
+  record Player(PlayerEntity player) implements AlertTarget {
+    Player {
+      requireNonNull(player);
+    }
+
+    @Override
+    public boolean isSpectator() {
+      return player.isSpectator();
+    }
+
+    @Override
+    public ItemStack getStackInHand(Hand hand) {
+      return player.getStackInHand(hand);
+    }
+
+    @Override
+    public int getSelectedSlot() {
+      return player.getInventory().selectedSlot;
+    }
+
+    @Override
+    public void sendAlert(Text message) {
+      player.sendMessage(message, true);
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package io.appropriate.minecraft.mods.durability;
+
+import net.fabricmc.fabric.api.event.Event;
+import net.fabricmc.fabric.api.event.EventFactory;
+import net.minecraft.entity.player.PlayerEntity;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+
+/**
+ * Callback for the server updating the contents of the client player's inventory, which is how
+ * durability changes reach the client.
+ *
+ * <p>This is invoked on the client thread after a single slot or the whole inventory has been
+ * updated.
+ */
+@ClientOnly
+public interface ClientInventoryUpdateCallback {
+  /**
+   * The event invoked after the client player's inventory is updated by the server.
+   */
+  Event<ClientInventoryUpdateCallback> EVENT = EventFactory.createArrayBacked(
+      ClientInventoryUpdateCallback.class,
+      listeners -> player -> {
+        for (ClientInventoryUpdateCallback listener : listeners) {
+          listener.onInventoryUpdated(player);
+        }
+      }
+  );
+
+  /**
+   * Called after the client player's inventory is updated by the server.
+   *
+   * @param player the client player
+   */
+  void onInventoryUpdated(PlayerEntity player);
+}
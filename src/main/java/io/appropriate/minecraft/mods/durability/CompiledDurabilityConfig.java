@@ -0,0 +1,265 @@
+package io.appropriate.minecraft.mods.durability;
+
+import java.util.List;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+/**
+ * An immutable, validated snapshot of a {@link DurabilityAlertConfig}, in the form used by
+ * {@link DurabilityChecker} on every check.
+ *
+ * <p>Alert cutoffs are looked up in a {@link CutoffSet}, and the alert policy of every
+ * registered item is decided up front into a table indexed by raw registry id, so that
+ * {@link AlertRules} and {@link DurabilityClassifier}s are never consulted on the hot path. Since
+ * nothing in a {@code CompiledDurabilityConfig} changes after it is built, it can be safely
+ * published to other threads through a single volatile write.
+ */
+final class CompiledDurabilityConfig {
+  /**
+   * The value returned when a percentage or number of uses is above every alert cutoff.
+   */
+  static final int NO_CUTOFF = -1;
+
+  static final byte NEVER_ALERTABLE = 1;
+  static final byte ALWAYS_ALERTABLE = 2;
+  static final byte ALERTABLE_IF_NAMED_OR_ENCHANTED = 3;
+
+  private final boolean disabled;
+  private final boolean alertAllNamed;
+  private final boolean alertAllEnchanted;
+  private final boolean collectMetrics;
+  private final int minimumAlertTier;
+  private final int predictiveAlertTicks;
+  private final boolean usesRemainingMode;
+  private final CutoffSet alertCutoffs;
+  private final int[] usesRemainingCutoffs;
+  private final List<DurabilityClassifier> classifiers;
+  private final AlertRules rules;
+  private final short[] policies;
+
+  private CompiledDurabilityConfig(DurabilityAlertConfig config,
+      List<DurabilityClassifier> classifiers, AlertRules rules) {
+    this.disabled = config.disabled;
+    this.alertAllNamed = config.alertAllNamed;
+    this.alertAllEnchanted = config.alertAllEnchanted;
+    this.collectMetrics = config.collectMetrics;
+    this.minimumAlertTier = config.minimumAlertTier == null
+        ? DurabilityAlertConfig.Material.Diamond.ordinal()
+        : config.minimumAlertTier.ordinal();
+    this.predictiveAlertTicks = Math.max(0, config.predictiveAlertSeconds) * 20;
+    this.usesRemainingMode = config.cutoffMode == DurabilityAlertConfig.CutoffMode.UsesRemaining;
+    this.alertCutoffs = config.alertCutoffs == null ? CutoffSet.EMPTY : config.alertCutoffs;
+    this.usesRemainingCutoffs = config.usesRemainingCutoffs == null
+        ? new int[0]
+        : config.usesRemainingCutoffs.stream()
+            .filter(cutoff -> cutoff != null && cutoff > 0)
+            .mapToInt(Integer::intValue)
+            .sorted()
+            .distinct()
+            .toArray();
+    this.classifiers = List.copyOf(classifiers);
+    this.rules = rules;
+    this.policies = computeRegisteredPolicies();
+  }
+
+  /**
+   * Compiles the given configuration, using the given classifiers ahead of the built-in rules.
+   *
+   * @param config the configuration to compile
+   * @param classifiers the classifiers to consult, in order
+   * @return a new compiled configuration
+   */
+  static CompiledDurabilityConfig compile(DurabilityAlertConfig config,
+      List<DurabilityClassifier> classifiers) {
+    return compile(config, classifiers, AlertRules.EMPTY);
+  }
+
+  /**
+   * Compiles the given configuration, using the given alert rules ahead of the classifiers and
+   * the built-in rules.
+   *
+   * @param config the configuration to compile
+   * @param classifiers the classifiers to consult, in order
+   * @param rules the alert rules
+   * @return a new compiled configuration
+   */
+  static CompiledDurabilityConfig compile(DurabilityAlertConfig config,
+      List<DurabilityClassifier> classifiers, AlertRules rules) {
+    return new CompiledDurabilityConfig(config, classifiers, rules);
+  }
+
+  private short[] computeRegisteredPolicies() {
+    var table = new short[Registries.ITEM.size()];
+
+    for (int rawId = 0; rawId < table.length; rawId++) {
+      var item = Registries.ITEM.get(rawId);
+      table[rawId] = computePolicy(item);
+    }
+
+    return table;
+  }
+
+  boolean isDisabled() {
+    return disabled;
+  }
+
+  boolean alertAllNamed() {
+    return alertAllNamed;
+  }
+
+  boolean alertAllEnchanted() {
+    return alertAllEnchanted;
+  }
+
+  boolean collectMetrics() {
+    return collectMetrics;
+  }
+
+  /**
+   * How far ahead, in ticks, an item is allowed to be expected to break before it triggers a
+   * predictive alert.
+   *
+   * @return the number of ticks, or 0 if predictive alerts are disabled
+   */
+  int getPredictiveAlertTicks() {
+    return predictiveAlertTicks;
+  }
+
+  /**
+   * Finds the alert cutoff for a remaining damage percentage.
+   *
+   * @param percent the remaining damage percentage
+   * @return the lowest cutoff at or above {@code percent}, or {@link #NO_CUTOFF}
+   */
+  int findAlertCutoff(int percent) {
+    if (percent < 0 || percent > CutoffSet.MAXIMUM_CUTOFF) {
+      return NO_CUTOFF;
+    }
+
+    return alertCutoffs.nextSetBit(percent);
+  }
+
+  /**
+   * Whether alert cutoffs are based on the expected number of uses left, rather than the remaining
+   * durability percentage.
+   *
+   * @return {@code true} in uses remaining mode
+   */
+  boolean isUsesRemainingMode() {
+    return usesRemainingMode;
+  }
+
+  /**
+   * Finds the alert cutoff for an expected number of uses left.
+   *
+   * @param usesRemaining the expected number of uses left
+   * @return the lowest uses remaining cutoff at or above {@code usesRemaining}, or
+   *     {@link #NO_CUTOFF}
+   */
+  int findUsesRemainingCutoff(int usesRemaining) {
+    for (int cutoff : usesRemainingCutoffs) {
+      if (cutoff >= usesRemaining) {
+        return cutoff;
+      }
+    }
+
+    return NO_CUTOFF;
+  }
+
+  /**
+   * Determines whether an item can trigger alerts.
+   *
+   * @param item the item to classify
+   * @return one of {@link #NEVER_ALERTABLE}, {@link #ALWAYS_ALERTABLE} or
+   *     {@link #ALERTABLE_IF_NAMED_OR_ENCHANTED}
+   */
+  byte classify(Item item) {
+    return getClassification(getPolicy(item));
+  }
+
+  /**
+   * Looks up the alert policy for an item, which combines its classification with the percentage
+   * limit set by any matching alert rule.
+   *
+   * <p>The policy comes from the first matching alert rule, if any, or else from the tier it was
+   * given by the first classifier that did not pass on it, or by the built-in rules.
+   *
+   * @param item the item
+   * @return the policy, to be unpacked with {@link #getClassification(int)} and
+   *     {@link #getPercentLimit(int)}
+   */
+  int getPolicy(Item item) {
+    var rawId = Registries.ITEM.getRawId(item);
+    if (rawId < 0 || rawId >= policies.length || Registries.ITEM.get(rawId) != item) {
+      // Items that are unregistered or were registered after compiling aren't cached. The item
+      // registry is defaulted, so an unregistered item gets the raw id of air rather than -1.
+      return computePolicy(item);
+    }
+
+    return policies[rawId];
+  }
+
+  /**
+   * Unpacks the classification from a policy.
+   *
+   * @param policy a policy returned by {@link #getPolicy(Item)}
+   * @return one of {@link #NEVER_ALERTABLE}, {@link #ALWAYS_ALERTABLE} or
+   *     {@link #ALERTABLE_IF_NAMED_OR_ENCHANTED}
+   */
+  static byte getClassification(int policy) {
+    return (byte) (policy & 0xFF);
+  }
+
+  /**
+   * Unpacks the percentage limit from a policy.
+   *
+   * @param policy a policy returned by {@link #getPolicy(Item)}
+   * @return the remaining durability percentage at or below which the item may alert
+   */
+  static int getPercentLimit(int policy) {
+    return policy >>> 8;
+  }
+
+  private short computePolicy(Item item) {
+    var rule = rules.match(item);
+    if (rule == null) {
+      return packPolicy(computeClassification(item), AlertRules.NO_PERCENT_LIMIT);
+    }
+
+    var classification = switch (rule.policy()) {
+      case ALWAYS -> ALWAYS_ALERTABLE;
+      case NEVER -> NEVER_ALERTABLE;
+      case NAMED_OR_ENCHANTED -> ALERTABLE_IF_NAMED_OR_ENCHANTED;
+      case DEFAULT -> computeClassification(item);
+    };
+
+    return packPolicy(classification, rule.belowPercent());
+  }
+
+  private static short packPolicy(byte classification, int percentLimit) {
+    return (short) ((percentLimit << 8) | classification);
+  }
+
+  private byte computeClassification(Item item) {
+    for (DurabilityClassifier classifier : classifiers) {
+      var tier = classifier.classify(item);
+      if (tier != DurabilityClassifier.PASS) {
+        return classificationForTier(tier);
+      }
+    }
+
+    return classificationForTier(DurabilityClassifiers.classifyBuiltIn(item));
+  }
+
+  private byte classificationForTier(int tier) {
+    if (tier == DurabilityClassifier.NEVER_ALERTABLE) {
+      return NEVER_ALERTABLE;
+    }
+
+    if (tier >= 0 && tier >= minimumAlertTier) {
+      return ALWAYS_ALERTABLE;
+    }
+
+    return ALERTABLE_IF_NAMED_OR_ENCHANTED;
+  }
+}
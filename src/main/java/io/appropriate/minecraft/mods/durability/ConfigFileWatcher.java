@@ -0,0 +1,182 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import me.shedaniel.autoconfig.ConfigData;
+import me.shedaniel.autoconfig.annotation.Config;
+import me.shedaniel.autoconfig.serializer.ConfigSerializer;
+import me.shedaniel.autoconfig.serializer.GsonConfigSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Watches the config directory on a daemon thread, and reloads the config file or the
+ * {@link AlertRules} file whenever they change on disk, such as when they are replaced by modpack
+ * tooling.
+ *
+ * <p>Bursts of writes are debounced, so a file is only reloaded once it has been left alone for
+ * {@value #DEBOUNCE_MILLIS} milliseconds. Only the file that changed is parsed again. A config file
+ * that is empty, or fails to parse or validate, is logged and ignored, leaving the previous config
+ * in place. Errors never stop the watcher, so a later fix to the file is still picked up.
+ */
+final class ConfigFileWatcher implements Runnable, Closeable {
+  static final long DEBOUNCE_MILLIS = 500;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+
+  private final Path configDir;
+  private final Path configFileName;
+  private final ConfigSerializer<DurabilityAlertConfig> serializer;
+  private final Consumer<DurabilityAlertConfig> configListener;
+  private final Runnable rulesListener;
+  private final WatchService watchService;
+
+  private ConfigFileWatcher(Path configDir, ConfigSerializer<DurabilityAlertConfig> serializer,
+      Consumer<DurabilityAlertConfig> configListener, Runnable rulesListener) throws IOException {
+    var definition = DurabilityAlertConfig.class.getAnnotation(Config.class);
+
+    this.configDir = requireNonNull(configDir);
+    this.configFileName = Path.of(definition.name() + ".json");
+    this.serializer = requireNonNull(serializer);
+    this.configListener = requireNonNull(configListener);
+    this.rulesListener = requireNonNull(rulesListener);
+    this.watchService = configDir.getFileSystem().newWatchService();
+
+    configDir.register(watchService, ENTRY_CREATE, ENTRY_MODIFY);
+  }
+
+  /**
+   * Starts watching the config directory.
+   *
+   * @param configDir the config directory
+   * @param configListener called on the watcher thread with each config that is reloaded, after
+   *     it has been validated
+   * @param rulesListener called on the watcher thread each time the alert rules are reloaded
+   * @return the new watcher
+   * @throws IOException if the config directory cannot be watched
+   */
+  static ConfigFileWatcher start(Path configDir, Consumer<DurabilityAlertConfig> configListener,
+      Runnable rulesListener) throws IOException {
+    var definition = DurabilityAlertConfig.class.getAnnotation(Config.class);
+    return start(configDir, new GsonConfigSerializer<>(definition, DurabilityAlertConfig.class),
+        configListener, rulesListener);
+  }
+
+  /**
+   * Starts watching the config directory, reading the config file with the given serializer.
+   *
+   * @param configDir the config directory
+   * @param serializer the serializer that reads the config file
+   * @param configListener called on the watcher thread with each config that is reloaded, after
+   *     it has been validated
+   * @param rulesListener called on the watcher thread each time the alert rules are reloaded
+   * @return the new watcher
+   * @throws IOException if the config directory cannot be watched
+   */
+  static ConfigFileWatcher start(Path configDir, ConfigSerializer<DurabilityAlertConfig> serializer,
+      Consumer<DurabilityAlertConfig> configListener, Runnable rulesListener) throws IOException {
+    var watcher = new ConfigFileWatcher(configDir, serializer, configListener, rulesListener);
+
+    var thread = new Thread(watcher, "Durability Alert config watcher");
+    thread.setDaemon(true);
+    thread.start();
+
+    return watcher;
+  }
+
+  @Override
+  public void run() {
+    try {
+      while (true) {
+        var changes = new Changes();
+        changes.collect(watchService.take());
+
+        WatchKey key;
+        while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+          changes.collect(key);
+        }
+
+        if (changes.config) {
+          reloadConfig();
+        }
+        if (changes.rules) {
+          reloadRules();
+        }
+      }
+    } catch (InterruptedException | ClosedWatchServiceException e) {
+      LOGGER.warn("Stopped watching {} for config changes", configDir, e);
+    }
+  }
+
+  /**
+   * Stops watching the config directory.
+   *
+   * @throws IOException if the watch service cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    watchService.close();
+  }
+
+  private void reloadConfig() {
+    if (!Files.exists(configDir.resolve(configFileName))) {
+      return;
+    }
+
+    try {
+      var config = serializer.deserialize();
+      if (config == null) {
+        LOGGER.error("{} is empty, keeping the previous config", configFileName);
+        return;
+      }
+
+      config.validatePostLoad();
+      configListener.accept(config);
+    } catch (ConfigSerializer.SerializationException | ConfigData.ValidationException
+        | RuntimeException e) {
+      // Gson lets JsonSyntaxException and NumberFormatException through the serializer
+      LOGGER.error("Failed to reload {}, keeping the previous config", configFileName, e);
+    }
+  }
+
+  private void reloadRules() {
+    try {
+      AlertRules.load(configDir);
+      rulesListener.run();
+    } catch (RuntimeException e) {
+      LOGGER.error("Failed to reload {}", AlertRules.FILE_NAME, e);
+    }
+  }
+
+  private final class Changes {
+    private boolean config;
+    private boolean rules;
+
+    void collect(WatchKey key) {
+      for (var event : key.pollEvents()) {
+        if (event.kind() == OVERFLOW) {
+          config = true;
+          rules = true;
+        } else if (configFileName.equals(event.context())) {
+          config = true;
+        } else if (Path.of(AlertRules.FILE_NAME).equals(event.context())) {
+          rules = true;
+        }
+      }
+
+      key.reset();
+    }
+  }
+}
@@ -0,0 +1,252 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.zip.CRC32;
+import me.shedaniel.autoconfig.AutoConfig;
+import me.shedaniel.autoconfig.ConfigData;
+import me.shedaniel.autoconfig.ConfigHolder;
+import me.shedaniel.autoconfig.serializer.ConfigSerializer;
+import me.shedaniel.autoconfig.serializer.GsonConfigSerializer;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ConfigSerializer} that keeps a compact binary snapshot of the validated config next to
+ * the JSON config file, so that the JSON does not need to be parsed and normalized again on every
+ * launch.
+ *
+ * <p>Alert cutoffs are stored as the two words of their {@link CutoffSet}. The snapshot records
+ * the modification time, size and CRC-32 of the JSON file it was taken from, and is only used while
+ * all three still match. Otherwise, the JSON file is parsed by the wrapped serializer and a new
+ * snapshot is written. Snapshots that cannot be read are ignored.
+ */
+final class ConfigSnapshotSerializer implements ConfigSerializer<DurabilityAlertConfig> {
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+
+  private static final int MAGIC = 0x44414d43;
+  private static final int VERSION = 3;
+
+  private static final int ALERT_ALL_NAMED = 1;
+  private static final int ALERT_ALL_ENCHANTED = 1 << 1;
+  private static final int DISABLED = 1 << 2;
+  private static final int ALERT_ON_DAMAGE_CHANGE = 1 << 3;
+  private static final int SCAN_INVENTORY = 1 << 4;
+  private static final int COLLECT_METRICS = 1 << 5;
+  private static final int SERVER_ALERTS = 1 << 6;
+  private static final int RECORD_TRACE = 1 << 7;
+
+  private final ConfigSerializer<DurabilityAlertConfig> delegate;
+  private final Path jsonFile;
+  private final Path snapshotFile;
+
+  /**
+   * Wraps a serializer for the JSON config file.
+   *
+   * @param delegate the serializer that reads and writes the JSON config file
+   * @param jsonFile the JSON config file
+   */
+  ConfigSnapshotSerializer(ConfigSerializer<DurabilityAlertConfig> delegate, Path jsonFile) {
+    this.delegate = requireNonNull(delegate);
+    this.jsonFile = requireNonNull(jsonFile);
+    this.snapshotFile = jsonFile.resolveSibling(jsonFile.getFileName() + ".bin");
+  }
+
+  /**
+   * Registers {@link DurabilityAlertConfig} with AutoConfig, loading it from the JSON config file
+   * in the config directory through a snapshot.
+   *
+   * @return the holder of the registered config
+   */
+  static ConfigHolder<DurabilityAlertConfig> register() {
+    return AutoConfig.register(DurabilityAlertConfig.class, (definition, configClass) ->
+        new ConfigSnapshotSerializer(new GsonConfigSerializer<>(definition, configClass),
+            QuiltLoader.getConfigDir().resolve(definition.name() + ".json")));
+  }
+
+  @Override
+  public void serialize(DurabilityAlertConfig config) throws SerializationException {
+    delegate.serialize(config);
+    writeSnapshot(config);
+  }
+
+  @Override
+  public DurabilityAlertConfig deserialize() throws SerializationException {
+    try {
+      var config = readSnapshot();
+      if (config != null) {
+        return config;
+      }
+    } catch (IOException e) {
+      LOGGER.warn("Ignoring unreadable config snapshot {}", snapshotFile, e);
+    }
+
+    var config = delegate.deserialize();
+    if (Files.exists(jsonFile)) {
+      try {
+        config.validatePostLoad();
+      } catch (ConfigData.ValidationException e) {
+        throw new SerializationException(e);
+      }
+      writeSnapshot(config);
+    }
+
+    return config;
+  }
+
+  @Override
+  public DurabilityAlertConfig createDefault() {
+    return delegate.createDefault();
+  }
+
+  private DurabilityAlertConfig readSnapshot() throws IOException {
+    BasicFileAttributes attributes;
+    try {
+      attributes = Files.readAttributes(jsonFile, BasicFileAttributes.class);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+
+    try (var input = new DataInputStream(
+        new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+      if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+        return null;
+      }
+
+      var modifiedTime = input.readLong();
+      var size = input.readLong();
+      var crc = input.readInt();
+      if (modifiedTime != attributes.lastModifiedTime().toMillis()
+          || size != attributes.size()
+          || crc != checksum(jsonFile)) {
+        return null;
+      }
+
+      return read(input);
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+  }
+
+  private void writeSnapshot(DurabilityAlertConfig config) {
+    try {
+      var attributes = Files.readAttributes(jsonFile, BasicFileAttributes.class);
+      var tempFile = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+
+      try (var output = new DataOutputStream(
+          new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeLong(attributes.lastModifiedTime().toMillis());
+        output.writeLong(attributes.size());
+        output.writeInt(checksum(jsonFile));
+        write(output, config);
+      }
+
+      Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      LOGGER.warn("Failed to write config snapshot {}", snapshotFile, e);
+    }
+  }
+
+  private static int checksum(Path file) throws IOException {
+    var crc = new CRC32();
+    crc.update(Files.readAllBytes(file));
+    return (int) crc.getValue();
+  }
+
+  /**
+   * Writes the body of a snapshot.
+   *
+   * @param output the output to write to
+   * @param config a validated config
+   * @throws IOException if the snapshot cannot be written
+   */
+  static void write(DataOutput output, DurabilityAlertConfig config) throws IOException {
+    output.writeLong(config.alertCutoffs.lowWord());
+    output.writeLong(config.alertCutoffs.highWord());
+
+    output.writeShort(config.usesRemainingCutoffs.size());
+    for (int cutoff : config.usesRemainingCutoffs) {
+      output.writeShort(cutoff);
+    }
+
+    output.writeByte(config.cutoffMode.ordinal());
+    output.writeByte(config.minimumAlertTier.ordinal());
+    output.writeByte((config.alertAllNamed ? ALERT_ALL_NAMED : 0)
+        | (config.alertAllEnchanted ? ALERT_ALL_ENCHANTED : 0)
+        | (config.disabled ? DISABLED : 0)
+        | (config.alertOnDamageChange ? ALERT_ON_DAMAGE_CHANGE : 0)
+        | (config.scanInventory ? SCAN_INVENTORY : 0)
+        | (config.collectMetrics ? COLLECT_METRICS : 0)
+        | (config.serverAlerts ? SERVER_ALERTS : 0)
+        | (config.recordTrace ? RECORD_TRACE : 0));
+    output.writeInt(config.predictiveAlertSeconds);
+    output.writeInt(config.alertCoalesceTicks);
+    output.writeInt(config.minimumAlertIntervalTicks);
+    output.writeInt(config.scanIntervalTicks);
+  }
+
+  /**
+   * Reads the body of a snapshot.
+   *
+   * @param input the input to read from
+   * @return the config, which is already validated
+   * @throws IOException if the snapshot cannot be read or is invalid
+   */
+  static DurabilityAlertConfig read(DataInput input) throws IOException {
+    var config = new DurabilityAlertConfig();
+
+    config.alertCutoffs = CutoffSet.fromWords(input.readLong(), input.readLong());
+
+    var usesRemainingCount = input.readUnsignedShort();
+    var usesRemainingCutoffs = new ArrayList<Integer>(usesRemainingCount);
+    for (int i = 0; i < usesRemainingCount; i++) {
+      usesRemainingCutoffs.add(input.readUnsignedShort());
+    }
+    config.usesRemainingCutoffs = Collections.unmodifiableList(usesRemainingCutoffs);
+
+    config.cutoffMode = valueOf(DurabilityAlertConfig.CutoffMode.values(), input.readByte());
+    config.minimumAlertTier = valueOf(DurabilityAlertConfig.Material.values(), input.readByte());
+
+    var flags = input.readUnsignedByte();
+    config.alertAllNamed = (flags & ALERT_ALL_NAMED) != 0;
+    config.alertAllEnchanted = (flags & ALERT_ALL_ENCHANTED) != 0;
+    config.disabled = (flags & DISABLED) != 0;
+    config.alertOnDamageChange = (flags & ALERT_ON_DAMAGE_CHANGE) != 0;
+    config.scanInventory = (flags & SCAN_INVENTORY) != 0;
+    config.collectMetrics = (flags & COLLECT_METRICS) != 0;
+    config.serverAlerts = (flags & SERVER_ALERTS) != 0;
+    config.recordTrace = (flags & RECORD_TRACE) != 0;
+
+    config.predictiveAlertSeconds = input.readInt();
+    config.alertCoalesceTicks = input.readInt();
+    config.minimumAlertIntervalTicks = input.readInt();
+    config.scanIntervalTicks = input.readInt();
+
+    return config;
+  }
+
+  private static <E extends Enum<E>> E valueOf(E[] values, int ordinal) throws IOException {
+    if (ordinal < 0 || ordinal >= values.length) {
+      throw new IOException("Invalid ordinal in config snapshot: " + ordinal);
+    }
+    return values[ordinal];
+  }
+}
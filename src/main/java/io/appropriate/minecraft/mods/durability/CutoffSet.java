@@ -0,0 +1,283 @@
+package io.appropriate.minecraft.mods.durability;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable set of alert cutoff percentages from 0 to 100, stored as a 101-bit set in two
+ * {@code long} words.
+ *
+ * <p>Percentages 0 to 63 are stored in the low word and 64 to 100 in the high word, so finding the
+ * lowest cutoff at or above a percentage takes at most two {@link Long#numberOfTrailingZeros(long)}
+ * calls. In JSON, a {@code CutoffSet} is written as a sorted array of percentages, and read from
+ * an array in any order, with values out of bounds ignored.
+ */
+@JsonAdapter(CutoffSet.GsonAdapter.class)
+final class CutoffSet {
+  /**
+   * The highest cutoff percentage.
+   */
+  static final int MAXIMUM_CUTOFF = 100;
+
+  static final CutoffSet EMPTY = new CutoffSet(0L, 0L);
+
+  private static final long HIGH_MASK = (1L << (MAXIMUM_CUTOFF + 1 - Long.SIZE)) - 1;
+
+  private final long low;
+  private final long high;
+
+  private CutoffSet(long low, long high) {
+    this.low = low;
+    this.high = high & HIGH_MASK;
+  }
+
+  /**
+   * Creates a set from its two words, as returned by {@link #lowWord()} and {@link #highWord()}.
+   *
+   * @param low the bits for percentages 0 to 63
+   * @param high the bits for percentages 64 to 100; any higher bits are ignored
+   * @return a set with the given bits
+   */
+  static CutoffSet fromWords(long low, long high) {
+    return new CutoffSet(low, high);
+  }
+
+  /**
+   * Creates a set of the given percentages. Percentages outside 0 to 100 are ignored.
+   *
+   * @param cutoffs the cutoff percentages, in any order
+   * @return a set of the percentages
+   */
+  static CutoffSet of(int... cutoffs) {
+    var set = EMPTY;
+    for (int cutoff : cutoffs) {
+      set = set.with(cutoff);
+    }
+    return set;
+  }
+
+  /**
+   * Creates a set from a list of percentages, such as one edited in the config screen.
+   * Percentages that are {@code null} or outside 0 to 100 are ignored.
+   *
+   * @param cutoffs the cutoff percentages, in any order
+   * @return a set of the percentages
+   */
+  static CutoffSet copyOf(List<Integer> cutoffs) {
+    var set = EMPTY;
+    for (Integer cutoff : cutoffs) {
+      if (cutoff != null) {
+        set = set.with(cutoff);
+      }
+    }
+    return set;
+  }
+
+  /**
+   * Creates a set of evenly spaced percentages, such as every 10%.
+   *
+   * @param step the distance between percentages, which must be positive
+   * @param limit the percentage to stop before
+   * @return a set of {@code step}, {@code 2 * step} and so on, below {@code limit}
+   */
+  static CutoffSet linear(int step, int limit) {
+    if (step <= 0) {
+      throw new IllegalArgumentException("Step must be positive: " + step);
+    }
+
+    var set = EMPTY;
+    for (int cutoff = step; cutoff < limit; cutoff += step) {
+      set = set.with(cutoff);
+    }
+    return set;
+  }
+
+  /**
+   * Creates a set of percentages that grow by a constant factor, such as 1%, 2%, 4% and so on.
+   *
+   * @param start the lowest percentage, which must be positive
+   * @param factor the factor between percentages, which must be greater than 1
+   * @param limit the percentage to stop before
+   * @return a set of {@code start}, {@code start * factor} and so on, rounded to whole
+   *     percentages, below {@code limit}
+   */
+  static CutoffSet geometric(int start, double factor, int limit) {
+    if (start <= 0 || !(factor > 1)) {
+      throw new IllegalArgumentException("Invalid geometric cutoffs: " + start + ", " + factor);
+    }
+
+    var set = EMPTY;
+    for (double cutoff = start; Math.round(cutoff) < limit; cutoff *= factor) {
+      set = set.with((int) Math.round(cutoff));
+    }
+    return set;
+  }
+
+  /**
+   * Adds a percentage to this set.
+   *
+   * @param cutoff the percentage to add
+   * @return a set with the percentage added, or this set if the percentage is already in it or is
+   *     outside 0 to 100
+   */
+  CutoffSet with(int cutoff) {
+    if (cutoff < 0 || cutoff > MAXIMUM_CUTOFF || contains(cutoff)) {
+      return this;
+    }
+
+    return cutoff < Long.SIZE
+        ? new CutoffSet(low | (1L << cutoff), high)
+        : new CutoffSet(low, high | (1L << (cutoff - Long.SIZE)));
+  }
+
+  /**
+   * Removes a percentage from this set.
+   *
+   * @param cutoff the percentage to remove
+   * @return a set with the percentage removed, or this set if the percentage is not in it
+   */
+  CutoffSet without(int cutoff) {
+    if (!contains(cutoff)) {
+      return this;
+    }
+
+    return cutoff < Long.SIZE
+        ? new CutoffSet(low & ~(1L << cutoff), high)
+        : new CutoffSet(low, high & ~(1L << (cutoff - Long.SIZE)));
+  }
+
+  long lowWord() {
+    return low;
+  }
+
+  long highWord() {
+    return high;
+  }
+
+  boolean isEmpty() {
+    return low == 0 && high == 0;
+  }
+
+  int size() {
+    return Long.bitCount(low) + Long.bitCount(high);
+  }
+
+  boolean contains(int percent) {
+    return percent >= 0 && nextSetBit(percent) == percent;
+  }
+
+  /**
+   * Finds the lowest cutoff at or above a percentage.
+   *
+   * @param percent the percentage to start from
+   * @return the lowest cutoff at or above {@code percent}, or -1 if there is none
+   */
+  int nextSetBit(int percent) {
+    if (percent < 0) {
+      percent = 0;
+    }
+
+    if (percent < Long.SIZE) {
+      var bits = low & (-1L << percent);
+      if (bits != 0) {
+        return Long.numberOfTrailingZeros(bits);
+      }
+      percent = Long.SIZE;
+    }
+
+    if (percent > MAXIMUM_CUTOFF) {
+      return -1;
+    }
+
+    var bits = high & (-1L << (percent - Long.SIZE));
+    return bits == 0 ? -1 : Long.SIZE + Long.numberOfTrailingZeros(bits);
+  }
+
+  /**
+   * The cutoffs in ascending order.
+   *
+   * @return a new array of cutoffs
+   */
+  int[] toArray() {
+    var cutoffs = new int[size()];
+    var i = 0;
+    for (int cutoff = nextSetBit(0); cutoff >= 0; cutoff = nextSetBit(cutoff + 1)) {
+      cutoffs[i++] = cutoff;
+    }
+    return cutoffs;
+  }
+
+  /**
+   * The cutoffs in ascending order, for the config screen.
+   *
+   * @return a new mutable list of cutoffs
+   */
+  List<Integer> toList() {
+    var cutoffs = new ArrayList<Integer>(size());
+    for (int cutoff : toArray()) {
+      cutoffs.add(cutoff);
+    }
+    return cutoffs;
+  }
+
+  @Override
+  public boolean equals(Object other) {
+    return other instanceof CutoffSet set && set.low == low && set.high == high;
+  }
+
+  @Override
+  public int hashCode() {
+    return Long.hashCode(low) * 31 + Long.hashCode(high);
+  }
+
+  @Override
+  public String toString() {
+    return toList().toString();
+  }
+
+  /**
+   * Reads and writes a {@code CutoffSet} in the same format as the list of cutoffs it replaced.
+   */
+  static final class GsonAdapter extends TypeAdapter<CutoffSet> {
+    @Override
+    public void write(JsonWriter out, CutoffSet cutoffs) throws IOException {
+      if (cutoffs == null) {
+        out.nullValue();
+        return;
+      }
+
+      out.beginArray();
+      for (int cutoff : cutoffs.toArray()) {
+        out.value(cutoff);
+      }
+      out.endArray();
+    }
+
+    @Override
+    public CutoffSet read(JsonReader in) throws IOException {
+      if (in.peek() == JsonToken.NULL) {
+        in.nextNull();
+        return null;
+      }
+
+      var set = EMPTY;
+      in.beginArray();
+      while (in.hasNext()) {
+        if (in.peek() == JsonToken.NULL) {
+          in.nextNull();
+        } else {
+          set = set.with(in.nextInt());
+        }
+      }
+      in.endArray();
+
+      return set;
+    }
+  }
+}
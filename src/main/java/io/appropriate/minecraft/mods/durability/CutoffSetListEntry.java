@@ -0,0 +1,295 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+import static net.minecraft.text.Text.literal;
+import static net.minecraft.text.Text.translatable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import me.shedaniel.clothconfig2.gui.entries.TooltipListEntry;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gui.Element;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.gui.Selectable;
+import net.minecraft.client.gui.widget.ButtonWidget;
+import net.minecraft.client.gui.widget.ClickableWidget;
+import net.minecraft.text.Text;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+
+/**
+ * A config entry that edits a {@link CutoffSet} as a single strip with one column per percentage,
+ * instead of one slider per cutoff.
+ *
+ * <p>Left-clicking a column toggles that cutoff, and dragging paints the same change across
+ * columns. A button cycles through preset sets of cutoffs. The entry saves the {@code CutoffSet} it
+ * edits as-is, so saving never has to sort or deduplicate a list. The strip and the preview of the
+ * selected cutoffs are only laid out again when the value or the width of the entry changes.
+ */
+@ClientOnly
+final class CutoffSetListEntry extends TooltipListEntry<CutoffSet> {
+  private static final int COLUMNS = CutoffSet.MAXIMUM_CUTOFF + 1;
+  private static final int STRIP_HEIGHT = 12;
+  private static final int BACKGROUND_COLOR = 0xFF202020;
+  private static final int CUTOFF_COLOR = 0xFF55FF55;
+  private static final int HOVER_COLOR = 0x80FFFFFF;
+
+  private final CutoffSet original;
+  private final Supplier<CutoffSet> defaultValue;
+  private final Consumer<CutoffSet> saveConsumer;
+  private final ButtonWidget presetButton;
+  private final ButtonWidget resetButton;
+  private final List<ClickableWidget> widgets;
+
+  private CutoffSet value;
+  private Preset preset;
+
+  private int stripX;
+  private int stripY;
+  private int stripWidth;
+  private boolean painting;
+  private boolean paintAdds;
+
+  private CutoffSet layoutValue;
+  private int layoutWidth = -1;
+  private int[] runs = new int[0];
+  private Text preview = Text.empty();
+
+  /**
+   * Builds a new entry for a {@code CutoffSet} field.
+   *
+   * @param fieldName the name of the field
+   * @param value the current value of the field
+   * @param resetButtonKey the text of the button that resets the field to its default value
+   * @param defaultValue a {@code Supplier} of the default value of the field
+   * @param saveConsumer a {@code Consumer} to receive the value of the field on save
+   * @param tooltipSupplier a {@code Supplier} that returns an array of tooltip text
+   */
+  CutoffSetListEntry(Text fieldName, CutoffSet value, Text resetButtonKey,
+      Supplier<CutoffSet> defaultValue, Consumer<CutoffSet> saveConsumer,
+      Supplier<Optional<Text[]>> tooltipSupplier) {
+    super(fieldName, tooltipSupplier, false);
+
+    this.original = requireNonNull(value);
+    this.value = value;
+    this.defaultValue = defaultValue;
+    this.saveConsumer = saveConsumer;
+
+    this.presetButton = ButtonWidget.builder(Text.empty(), button -> applyNextPreset()).build();
+    this.resetButton = ButtonWidget.builder(resetButtonKey, button -> {
+      this.value = defaultValue.get();
+      setPreset(null);
+    }).build();
+    this.resetButton.setWidth(MinecraftClient.getInstance().textRenderer.getWidth(resetButtonKey)
+        + 6);
+    this.widgets = List.of(presetButton, resetButton);
+    setPreset(null);
+  }
+
+  @Override
+  public CutoffSet getValue() {
+    return value;
+  }
+
+  @Override
+  public Optional<CutoffSet> getDefaultValue() {
+    return defaultValue == null ? Optional.empty() : Optional.ofNullable(defaultValue.get());
+  }
+
+  @Override
+  public boolean isEdited() {
+    return super.isEdited() || !original.equals(value);
+  }
+
+  @Override
+  public void save() {
+    if (saveConsumer != null) {
+      saveConsumer.accept(value);
+    }
+  }
+
+  @Override
+  public int getItemHeight() {
+    return 24 + STRIP_HEIGHT + 14;
+  }
+
+  @Override
+  public void render(GuiGraphics graphics, int index, int y, int x, int entryWidth,
+      int entryHeight, int mouseX, int mouseY, boolean isHovered, float delta) {
+    super.render(graphics, index, y, x, entryWidth, entryHeight, mouseX, mouseY, isHovered,
+        delta);
+
+    var textRenderer = MinecraftClient.getInstance().textRenderer;
+    var editable = isEditable();
+
+    resetButton.active = editable && getDefaultValue().map(d -> !d.equals(value)).orElse(false);
+    resetButton.setX(x + entryWidth - resetButton.getWidth());
+    resetButton.setY(y);
+    presetButton.active = editable;
+    presetButton.setX(x + entryWidth - 150);
+    presetButton.setY(y);
+    presetButton.setWidth(150 - resetButton.getWidth() - 2);
+
+    graphics.drawShadowedText(textRenderer, getDisplayedFieldName(), x, y + 6,
+        getPreferredTextColor());
+    resetButton.render(graphics, mouseX, mouseY, delta);
+    presetButton.render(graphics, mouseX, mouseY, delta);
+
+    stripX = x;
+    stripY = y + 24;
+    stripWidth = entryWidth;
+    updateLayout(entryWidth);
+
+    graphics.fill(stripX, stripY, stripX + stripWidth, stripY + STRIP_HEIGHT, BACKGROUND_COLOR);
+    for (int i = 0; i < runs.length; i += 2) {
+      graphics.fill(stripX + runs[i], stripY, stripX + runs[i + 1], stripY + STRIP_HEIGHT,
+          CUTOFF_COLOR);
+    }
+
+    var hovered = columnAt(mouseX, mouseY);
+    if (editable && hovered >= 0) {
+      graphics.fill(stripX + columnX(hovered), stripY, stripX + columnX(hovered + 1),
+          stripY + STRIP_HEIGHT, HOVER_COLOR);
+    }
+
+    graphics.drawShadowedText(textRenderer, preview, x, stripY + STRIP_HEIGHT + 3, 0xFFAAAAAA);
+  }
+
+  private void updateLayout(int width) {
+    if (value.equals(layoutValue) && width == layoutWidth) {
+      return;
+    }
+
+    layoutValue = value;
+    layoutWidth = width;
+    runs = buildRuns(value, width);
+
+    var text = value.isEmpty()
+        ? translatable("text.durability-alert-mod.cutoffs.none").getString()
+        : value.toString().replace("[", "").replace("]", "%");
+    preview = literal(MinecraftClient.getInstance().textRenderer.trimToWidth(text, width));
+  }
+
+  /**
+   * Finds the horizontal extents of each run of consecutive cutoffs in a strip.
+   *
+   * @param cutoffs the cutoffs to lay out
+   * @param width the width of the strip in pixels
+   * @return the start and end offset of each run, in pairs
+   */
+  static int[] buildRuns(CutoffSet cutoffs, int width) {
+    var runs = new int[cutoffs.size() * 2];
+    var count = 0;
+    for (int start = cutoffs.nextSetBit(0); start >= 0; ) {
+      var end = start + 1;
+      while (end < COLUMNS && cutoffs.contains(end)) {
+        end++;
+      }
+
+      runs[count++] = columnX(start, width);
+      runs[count++] = Math.max(columnX(end, width), columnX(start, width) + 1);
+      start = end < COLUMNS ? cutoffs.nextSetBit(end) : -1;
+    }
+    return Arrays.copyOf(runs, count);
+  }
+
+  private int columnX(int column) {
+    return columnX(column, stripWidth);
+  }
+
+  private static int columnX(int column, int width) {
+    return column * width / COLUMNS;
+  }
+
+  private int columnAt(double mouseX, double mouseY) {
+    if (stripWidth <= 0 || mouseX < stripX || mouseX >= stripX + stripWidth
+        || mouseY < stripY || mouseY >= stripY + STRIP_HEIGHT) {
+      return -1;
+    }
+    return Math.min(CutoffSet.MAXIMUM_CUTOFF, (int) ((mouseX - stripX) * COLUMNS / stripWidth));
+  }
+
+  @Override
+  public boolean mouseClicked(double mouseX, double mouseY, int button) {
+    var column = button == 0 ? columnAt(mouseX, mouseY) : -1;
+    if (column >= 0 && isEditable()) {
+      painting = true;
+      paintAdds = !value.contains(column);
+      paint(column);
+      return true;
+    }
+    return super.mouseClicked(mouseX, mouseY, button);
+  }
+
+  @Override
+  public boolean mouseDragged(double mouseX, double mouseY, int button, double deltaX,
+      double deltaY) {
+    if (painting) {
+      var column = columnAt(mouseX, Math.max(stripY, Math.min(stripY + STRIP_HEIGHT - 1, mouseY)));
+      if (column >= 0) {
+        paint(column);
+      }
+      return true;
+    }
+    return super.mouseDragged(mouseX, mouseY, button, deltaX, deltaY);
+  }
+
+  @Override
+  public boolean mouseReleased(double mouseX, double mouseY, int button) {
+    if (painting) {
+      painting = false;
+      return true;
+    }
+    return super.mouseReleased(mouseX, mouseY, button);
+  }
+
+  private void paint(int column) {
+    value = paintAdds ? value.with(column) : value.without(column);
+    if (preset != null) {
+      setPreset(null);
+    }
+  }
+
+  private void applyNextPreset() {
+    var presets = Preset.values();
+    setPreset(presets[preset == null ? 0 : (preset.ordinal() + 1) % presets.length]);
+    value = preset.cutoffs;
+  }
+
+  private void setPreset(Preset preset) {
+    this.preset = preset;
+    presetButton.setMessage(translatable("text.durability-alert-mod.cutoffs.preset",
+        translatable(preset == null ? Preset.KEY_PREFIX + "custom" : preset.key)));
+  }
+
+  @Override
+  public List<? extends Element> children() {
+    return widgets;
+  }
+
+  @Override
+  public List<? extends Selectable> narratables() {
+    return widgets;
+  }
+
+  /**
+   * Preset sets of cutoffs that the preset button cycles through.
+   */
+  enum Preset {
+    LINEAR("linear", CutoffSet.linear(10, 100)),
+    GEOMETRIC("geometric", CutoffSet.geometric(1, 2, 100)),
+    LOW("low", CutoffSet.linear(5, 25));
+
+    static final String KEY_PREFIX = "text.durability-alert-mod.cutoffs.preset.";
+
+    final String key;
+    final CutoffSet cutoffs;
+
+    Preset(String name, CutoffSet cutoffs) {
+      this.key = KEY_PREFIX + name;
+      this.cutoffs = cutoffs;
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package io.appropriate.minecraft.mods.durability;
+
+import net.minecraft.item.Item;
+
+/**
+ * Tracks how quickly the item in each inventory slot is being damaged, to estimate how long it has
+ * left before it breaks.
+ *
+ * <p>For each slot, a ring buffer of {@code (tick, damage)} samples is kept in primitive arrays. A
+ * sample is only added when the damage value changes, and the history of a slot is discarded when
+ * it holds a different item or its damage decreases, such as after a repair.
+ */
+final class DamageRateTracker {
+  /**
+   * The value returned by {@link #estimateTicksRemaining(int, int)} when there is not enough
+   * history to make an estimate.
+   */
+  static final long NO_ESTIMATE = -1L;
+
+  static final int SAMPLES_PER_SLOT = 8;
+  static final int MINIMUM_SAMPLES = 3;
+  static final long DEFAULT_MAXIMUM_SAMPLE_AGE_TICKS = 20 * 60;
+
+  private final long maximumSampleAgeTicks;
+  private final Item[] items = new Item[DurabilityChecker.SLOT_COUNT];
+  private final long[] ticks = new long[DurabilityChecker.SLOT_COUNT * SAMPLES_PER_SLOT];
+  private final int[] damages = new int[DurabilityChecker.SLOT_COUNT * SAMPLES_PER_SLOT];
+  private final int[] newest = new int[DurabilityChecker.SLOT_COUNT];
+  private final int[] counts = new int[DurabilityChecker.SLOT_COUNT];
+
+  DamageRateTracker() {
+    this(DEFAULT_MAXIMUM_SAMPLE_AGE_TICKS);
+  }
+
+  /**
+   * Creates a new tracker.
+   *
+   * @param maximumSampleAgeTicks how old a sample may be, relative to the newest sample in the same
+   *     slot, to still be used for estimates
+   */
+  DamageRateTracker(long maximumSampleAgeTicks) {
+    this.maximumSampleAgeTicks = maximumSampleAgeTicks;
+  }
+
+  /**
+   * Records the damage of the item in a slot.
+   *
+   * @param slot the inventory slot
+   * @param item the item in the slot
+   * @param tick the current tick
+   * @param damage the current damage value of the item
+   * @return {@code true} if the slot's history was discarded because the item changed or was
+   *     repaired
+   */
+  boolean record(int slot, Item item, long tick, int damage) {
+    var base = slot * SAMPLES_PER_SLOT;
+    var reset = false;
+
+    if (items[slot] != item
+        || (counts[slot] > 0 && damage < damages[base + newest[slot]])) {
+      items[slot] = item;
+      counts[slot] = 0;
+      reset = true;
+    }
+
+    if (counts[slot] > 0 && damages[base + newest[slot]] == damage) {
+      return reset;
+    }
+
+    var next = counts[slot] == 0 ? 0 : (newest[slot] + 1) % SAMPLES_PER_SLOT;
+    ticks[base + next] = tick;
+    damages[base + next] = damage;
+    newest[slot] = next;
+    counts[slot] = Math.min(counts[slot] + 1, SAMPLES_PER_SLOT);
+
+    return reset;
+  }
+
+  /**
+   * Estimates how many ticks of use the item in a slot has left, based on the rate at which it
+   * was damaged over its recent samples.
+   *
+   * @param slot the inventory slot
+   * @param maxDamage the maximum damage of the item
+   * @return the estimated number of ticks until the item breaks, or {@link #NO_ESTIMATE}
+   */
+  long estimateTicksRemaining(int slot, int maxDamage) {
+    var count = counts[slot];
+    if (count < MINIMUM_SAMPLES) {
+      return NO_ESTIMATE;
+    }
+
+    var base = slot * SAMPLES_PER_SLOT;
+    var newestIndex = newest[slot];
+    var newestTick = ticks[base + newestIndex];
+    var newestDamage = damages[base + newestIndex];
+
+    // Walk back to the oldest sample that is still recent enough
+    var oldestIndex = newestIndex;
+    var used = 1;
+    for (int i = 1; i < count; i++) {
+      var index = (newestIndex - i + SAMPLES_PER_SLOT) % SAMPLES_PER_SLOT;
+      if (newestTick - ticks[base + index] > maximumSampleAgeTicks) {
+        break;
+      }
+      oldestIndex = index;
+      used++;
+    }
+
+    if (used < MINIMUM_SAMPLES) {
+      return NO_ESTIMATE;
+    }
+
+    var elapsedTicks = newestTick - ticks[base + oldestIndex];
+    var damageTaken = newestDamage - damages[base + oldestIndex];
+    if (elapsedTicks <= 0 || damageTaken <= 0) {
+      return NO_ESTIMATE;
+    }
+
+    var remaining = Math.max(0, maxDamage - newestDamage);
+    return remaining * elapsedTicks / damageTaken;
+  }
+}
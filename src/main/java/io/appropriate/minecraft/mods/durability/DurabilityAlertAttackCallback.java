@@ -2,27 +2,59 @@
 
 import static net.minecraft.util.hit.HitResult.Type.MISS;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Locale;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientLifecycleEvents;
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
 import net.fabricmc.fabric.api.event.player.AttackBlockCallback;
 import net.fabricmc.fabric.api.event.player.AttackEntityCallback;
+import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.ItemStack;
-import net.minecraft.text.MutableText;
 import net.minecraft.text.Text;
 import net.minecraft.util.ActionResult;
-import net.minecraft.util.Formatting;
 import net.minecraft.util.Hand;
 import net.minecraft.util.hit.EntityHitResult;
 import net.minecraft.util.hit.HitResult;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
 import net.minecraft.world.World;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A callback object to receive messages from the game when a block is attacked by a player.
+ *
+ * <p>Alerts are not shown right away, but passed through an {@link AlertScheduler} that is polled
+ * at the end of every client tick, so that alerts which arrive close together are coalesced.
+ *
+ * <p>Once an attack has been filtered by its world and hit result, the rest of the pipeline only
+ * sees the player as an {@link AlertTarget}, so it can be driven without a running client.
+ *
+ * <p>When {@code recordTrace} is set, every stack checked is also recorded by a
+ * {@link DurabilityTraceRecorder}. The recorder is opened and closed on the client thread at the
+ * next tick after the setting changes.
  */
-public class DurabilityAlertAttackCallback implements AttackBlockCallback, AttackEntityCallback {
-  private DurabilityChecker checker;
+public class DurabilityAlertAttackCallback
+    implements AttackBlockCallback, AttackEntityCallback, ClientTickEvents.EndTick {
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+
+  // Flush the trace every 10 seconds, so that little is lost if the game crashes
+  private static final int TRACE_FLUSH_TICKS = 200;
+
+  private final DurabilityChecker checker;
+  private final AlertMessageCache messageCache = new AlertMessageCache();
+  private final AlertScheduler<PendingAlert> scheduler;
+  private volatile boolean checkOnAttack;
+  private volatile boolean recordTrace;
+  private long tick;
+  private AlertTarget.Player lastTarget;
+  private Path traceDirectory;
+  private DurabilityTraceRecorder recorder;
 
   /**
    * Registers a new callback with the given configuration.
@@ -32,8 +64,11 @@ public class DurabilityAlertAttackCallback implements AttackBlockCallback, Attac
    */
   public static DurabilityAlertAttackCallback register(DurabilityAlertConfig config) {
     var callback = new DurabilityAlertAttackCallback(config);
+    callback.traceDirectory = QuiltLoader.getGameDir().resolve("durability-alert-mod/traces");
     AttackBlockCallback.EVENT.register(callback);
     AttackEntityCallback.EVENT.register(callback);
+    ClientTickEvents.END_CLIENT_TICK.register(callback);
+    ClientLifecycleEvents.CLIENT_STOPPING.register(client -> callback.closeRecorder());
     return callback;
   }
 
@@ -44,18 +79,28 @@ public static DurabilityAlertAttackCallback register(DurabilityAlertConfig confi
    */
   public DurabilityAlertAttackCallback(DurabilityAlertConfig config) {
     this.checker = new DurabilityChecker(config);
+    this.scheduler = new AlertScheduler<>(
+        config.alertCoalesceTicks, config.minimumAlertIntervalTicks);
+    this.checkOnAttack = !config.alertOnDamageChange;
+    this.recordTrace = config.recordTrace;
   }
 
   /**
    * Updates the callback with a new configuration.
    *
-   * <p>Whenever the configuration is updated, a new {@link DurabilityChecker} is constructed, which
-   * will reset any tracking of previous alerts.
+   * <p>The configuration is compiled and swapped into the callback's {@link DurabilityChecker}, so
+   * this may be called from any thread, and alerts that were already shown are not repeated.
+   *
+   * <p>When {@code alertOnDamageChange} is set, attacks no longer trigger checks, since the
+   * {@link DurabilityInventoryScanner} checks held items as soon as their damage changes.
    *
    * @param config the updated configuration to use for this callback
    */
   public void updateConfig(DurabilityAlertConfig config) {
-    this.checker = new DurabilityChecker(config);
+    checker.updateConfig(config);
+    scheduler.setTiming(config.alertCoalesceTicks, config.minimumAlertIntervalTicks);
+    this.checkOnAttack = !config.alertOnDamageChange;
+    this.recordTrace = config.recordTrace;
   }
 
   /**
@@ -71,7 +116,7 @@ public void updateConfig(DurabilityAlertConfig config) {
   public ActionResult interact(PlayerEntity player, World world, Hand hand, BlockPos pos,
       Direction direction) {
     if (player.canHarvest(world.getBlockState(pos))) {
-      checkStackInHand(player, hand);
+      attack(targetFor(player), hand);
     }
 
     return ActionResult.PASS;
@@ -90,41 +135,167 @@ public ActionResult interact(PlayerEntity player, World world, Hand hand, BlockP
   public ActionResult interact(PlayerEntity player, World world, Hand hand, Entity entity,
       EntityHitResult hitResult) {
     if (hitResult == null || hitResult.getType() != MISS) {
-      checkStackInHand(player, hand);
+      attack(targetFor(player), hand);
     }
 
     return ActionResult.PASS;
   }
 
-  private void checkStackInHand(PlayerEntity player, Hand hand) {
-    if (player.isSpectator()) {
-      return;
+  /**
+   * The metrics recorded by this callback's {@link DurabilityChecker}.
+   *
+   * @return the metrics
+   */
+  public DurabilityMetrics getMetrics() {
+    return checker.getMetrics();
+  }
+
+  /**
+   * Describes how well alert messages are being reused.
+   *
+   * @return a line describing the alert message cache
+   */
+  String describeMessageCache() {
+    return String.format(Locale.ROOT, "Message cache: %d hits, %d misses, %d cached",
+        messageCache.getHits(), messageCache.getMisses(), messageCache.size());
+  }
+
+  /**
+   * Called at the end of each client tick to show any alert that is due.
+   *
+   * @param client the Minecraft client
+   */
+  @Override
+  public void onEndTick(MinecraftClient client) {
+    tick(client.player != null);
+  }
+
+  /**
+   * Advances the callback by one tick, showing any alert that is due.
+   *
+   * @param inWorld whether there is a player in a world; if not, pending alerts are dropped
+   */
+  void tick(boolean inWorld) {
+    tick++;
+
+    if (recordTrace != (recorder != null)) {
+      updateRecorder();
+    } else if (recorder != null && tick % TRACE_FLUSH_TICKS == 0) {
+      try {
+        recorder.flush();
+      } catch (IOException e) {
+        LOGGER.error("Failed to write durability trace, recording stopped", e);
+        closeRecorder();
+        recordTrace = false;
+      }
     }
 
-    var stack = player.getStackInHand(hand);
-    if (stack == null) {
+    if (!inWorld) {
+      scheduler.clear();
       return;
     }
 
-    checker.checkItemStack(stack).ifPresent(
-        result -> alertPlayer(player, stack, result));
+    var alert = scheduler.poll(tick);
+    if (alert != null) {
+      alert.target().sendAlert(alert.message());
+    }
   }
 
-  private void alertPlayer(PlayerEntity player, ItemStack stack, DurabilityChecker.Result result) {
-    var translationKey = "messages.durability-alert-mod.alert";
-    var stackName = stack.getName();
+  /**
+   * Checks the stack in a target's hand after an attack that hit something.
+   *
+   * @param target the attacking target
+   * @param hand the hand used to attack
+   */
+  void attack(AlertTarget target, Hand hand) {
+    if (!checkOnAttack) {
+      return;
+    }
 
-    if (stack.hasCustomName()) {
-      translationKey = "messages.durability-alert-mod.alert-named";
-      if (stackName instanceof MutableText mt) {
-        stackName = mt.formatted(Formatting.ITALIC);
+    checkStack(target, target.getStackInHand(hand), slotForHand(target, hand));
+  }
+
+  private void updateRecorder() {
+    if (recorder != null) {
+      closeRecorder();
+    } else if (traceDirectory != null) {
+      try {
+        recorder = DurabilityTraceRecorder.open(traceDirectory);
+      } catch (IOException e) {
+        LOGGER.error("Failed to start recording a durability trace in {}", traceDirectory, e);
+        recordTrace = false;
       }
     }
+  }
+
+  /**
+   * Stops recording the durability trace, if it is being recorded.
+   */
+  void closeRecorder() {
+    if (recorder == null) {
+      return;
+    }
+
+    try {
+      recorder.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to finish writing the durability trace", e);
+    }
+    recorder = null;
+  }
+
+  private AlertTarget targetFor(PlayerEntity player) {
+    var target = lastTarget;
+    if (target == null || target.player() != player) {
+      target = new AlertTarget.Player(player);
+      lastTarget = target;
+    }
+    return target;
+  }
 
-    var message = Text.translatable(
-            translationKey, stackName, result.getRemainingDamagePercent()
-        ).styled(style -> style.withColor(result.getDamageMessageColor()));
+  /**
+   * Checks a stack in one of the player's inventory slots and alerts the player if needed.
+   *
+   * <p>Alerts share the same per-slot history whether they come from an attack or from another
+   * source, such as a {@link DurabilityInventoryScanner}.
+   *
+   * @param player the player holding the stack
+   * @param stack the stack to check
+   * @param slot the inventory slot holding the stack
+   */
+  void checkStack(PlayerEntity player, ItemStack stack, int slot) {
+    checkStack(targetFor(player), stack, slot);
+  }
+
+  private void checkStack(AlertTarget target, ItemStack stack, int slot) {
+    if (target.isSpectator() || stack == null) {
+      return;
+    }
+
+    checker.getMetrics().recordInteraction();
+    if (recorder != null) {
+      recorder.record(tick, stack, slot);
+    }
+
+    var result = checker.checkItemStackPacked(stack, slot, tick);
+    if (result != DurabilityChecker.NO_ALERT) {
+      alertTarget(target, stack, result);
+    }
+  }
+
+  private static int slotForHand(AlertTarget target, Hand hand) {
+    return hand == Hand.OFF_HAND
+        ? PlayerInventory.OFF_HAND_SLOT
+        : target.getSelectedSlot();
+  }
+
+  private void alertTarget(AlertTarget target, ItemStack stack, long result) {
+    var percent = DurabilityChecker.PackedResult.getRemainingDamagePercent(result);
+    var message = messageCache.getMessage(stack, result);
+
+    scheduler.submit(tick, percent, new PendingAlert(target, message));
+  }
 
-    player.sendMessage(message, true);
+  private record PendingAlert(AlertTarget target, Text message) {
   }
 }
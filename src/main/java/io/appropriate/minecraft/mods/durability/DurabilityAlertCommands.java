@@ -0,0 +1,78 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static net.fabricmc.fabric.api.client.command.v2.ClientCommandManager.literal;
+
+import com.mojang.brigadier.Command;
+import com.mojang.brigadier.context.CommandContext;
+import java.io.IOException;
+import java.util.List;
+import net.fabricmc.fabric.api.client.command.v2.ClientCommandRegistrationCallback;
+import net.fabricmc.fabric.api.client.command.v2.FabricClientCommandSource;
+import net.minecraft.text.Text;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+
+/**
+ * The {@code /durabilityalert} client command, used to inspect the mod while it runs.
+ *
+ * <ul>
+ *   <li>{@code /durabilityalert metrics} shows the current metrics</li>
+ *   <li>{@code /durabilityalert metrics dump} writes them to a file in the config directory</li>
+ *   <li>{@code /durabilityalert metrics reset} resets them</li>
+ * </ul>
+ */
+@ClientOnly
+final class DurabilityAlertCommands {
+  private static final String METRICS_FILE = "durability-alert-mod-metrics.txt";
+
+  private DurabilityAlertCommands() {
+  }
+
+  /**
+   * Registers the client commands.
+   *
+   * @param callback the callback whose metrics are reported
+   */
+  static void register(DurabilityAlertAttackCallback callback) {
+    ClientCommandRegistrationCallback.EVENT.register((dispatcher, registryAccess) ->
+        dispatcher.register(literal("durabilityalert")
+            .then(literal("metrics")
+                .executes(context -> showMetrics(context, callback))
+                .then(literal("dump").executes(context -> dumpMetrics(context, callback)))
+                .then(literal("reset").executes(context -> resetMetrics(context, callback))))));
+  }
+
+  private static int showMetrics(CommandContext<FabricClientCommandSource> context,
+      DurabilityAlertAttackCallback callback) {
+    var source = context.getSource();
+    for (String line : callback.getMetrics().report()) {
+      source.sendFeedback(Text.literal(line));
+    }
+    source.sendFeedback(Text.literal(callback.describeMessageCache()));
+    return Command.SINGLE_SUCCESS;
+  }
+
+  private static int dumpMetrics(CommandContext<FabricClientCommandSource> context,
+      DurabilityAlertAttackCallback callback) {
+    var path = QuiltLoader.getConfigDir().resolve(METRICS_FILE);
+    try {
+      callback.getMetrics().dump(path, List.of(callback.describeMessageCache()));
+    } catch (IOException e) {
+      context.getSource().sendError(
+          Text.translatable("commands.durability-alert-mod.metrics.dump_failed", path.toString()));
+      return 0;
+    }
+
+    context.getSource().sendFeedback(
+        Text.translatable("commands.durability-alert-mod.metrics.dumped", path.toString()));
+    return Command.SINGLE_SUCCESS;
+  }
+
+  private static int resetMetrics(CommandContext<FabricClientCommandSource> context,
+      DurabilityAlertAttackCallback callback) {
+    callback.getMetrics().reset();
+    context.getSource().sendFeedback(
+        Text.translatable("commands.durability-alert-mod.metrics.reset"));
+    return Command.SINGLE_SUCCESS;
+  }
+}
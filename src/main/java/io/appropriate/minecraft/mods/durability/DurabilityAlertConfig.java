@@ -7,35 +7,55 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import me.shedaniel.autoconfig.ConfigData;
 import me.shedaniel.autoconfig.annotation.Config;
 import me.shedaniel.autoconfig.annotation.ConfigEntry;
 import me.shedaniel.clothconfig2.gui.entries.SelectionListEntry.Translatable;
+import net.minecraft.item.ArmorMaterial;
+import net.minecraft.item.ArmorMaterials;
 import net.minecraft.item.ToolMaterials;
 
 @Config(name = "durability-alert-mod")
 class DurabilityAlertConfig implements ConfigData {
   @Retention(RetentionPolicy.RUNTIME)
   @Target(ElementType.FIELD)
-  @interface IntSliderList {}
+  @interface CutoffEditor {}
 
   @ConfigEntry.Gui.Excluded
-  private static final List<Integer> DEFAULT_ALERT_CUTOFFS =
+  private static final CutoffSet DEFAULT_ALERT_CUTOFFS =
+      CutoffSet.of(1, 2, 3, 4, 5, 10, 15, 20, 25, 50);
+
+  @ConfigEntry.Gui.Excluded
+  private static final List<Integer> DEFAULT_USES_REMAINING_CUTOFFS =
       Collections.unmodifiableList(Arrays.<Integer>asList(
-          1, 2, 3, 4, 5, 10, 15, 20, 25, 50
+          10, 25, 50, 100
       ));
 
+  @ConfigEntry.Gui.Excluded
+  private static final int MAXIMUM_USES_REMAINING_CUTOFF = 0xFFFF;
+
   @ConfigEntry.Gui.Excluded
   private static final Material DEFAULT_MINIMUM_ALERT_TIER = Material.Diamond;
 
   @ConfigEntry.Gui.Tooltip
-  @IntSliderList
-  List<Integer> alertCutoffs = DEFAULT_ALERT_CUTOFFS;
+  CutoffMode cutoffMode = CutoffMode.Percent;
+
+  @ConfigEntry.Gui.Tooltip
+  @CutoffEditor
+  CutoffSet alertCutoffs = DEFAULT_ALERT_CUTOFFS;
+
+  @ConfigEntry.Gui.Tooltip
+  List<Integer> usesRemainingCutoffs = DEFAULT_USES_REMAINING_CUTOFFS;
 
   @ConfigEntry.Gui.Tooltip
   Material minimumAlertTier = DEFAULT_MINIMUM_ALERT_TIER;
 
+  @ConfigEntry.Gui.Tooltip
+  @ConfigEntry.BoundedDiscrete(min = 0, max = 120)
+  int predictiveAlertSeconds = 0;
+
   @ConfigEntry.Gui.Tooltip
   boolean alertAllNamed = true;
 
@@ -45,47 +65,132 @@ class DurabilityAlertConfig implements ConfigData {
   @ConfigEntry.Gui.Tooltip
   boolean disabled = false;
 
+  @ConfigEntry.Gui.Tooltip
+  @ConfigEntry.BoundedDiscrete(min = 0, max = 20)
+  int alertCoalesceTicks = 2;
+
+  @ConfigEntry.Gui.Tooltip
+  @ConfigEntry.BoundedDiscrete(min = 0, max = 200)
+  int minimumAlertIntervalTicks = 20;
+
+  @ConfigEntry.Gui.Tooltip
+  boolean alertOnDamageChange = false;
+
+  @ConfigEntry.Gui.Tooltip
+  boolean scanInventory = false;
+
+  @ConfigEntry.Gui.Tooltip
+  @ConfigEntry.BoundedDiscrete(min = 1, max = 200)
+  int scanIntervalTicks = 20;
+
+  @ConfigEntry.Gui.Tooltip
+  boolean collectMetrics = false;
+
+  @ConfigEntry.Gui.Tooltip
+  boolean recordTrace = false;
+
+  @ConfigEntry.Gui.Excluded
+  boolean serverAlerts = false;
+
   @Override
   public void validatePostLoad() throws ValidationException {
     ConfigData.super.validatePostLoad();
 
+    // A CutoffSet is always in bounds, sorted and free of duplicates
     if (alertCutoffs == null) {
       alertCutoffs = DEFAULT_ALERT_CUTOFFS;
     }
 
-    alertCutoffs = alertCutoffs.stream()
-                   .filter(DurabilityAlertConfig::cutoffInBounds)
-                   .sorted()
-                   .distinct()
-                   .collect(Collectors.toList());
+    if (cutoffMode == null) {
+      cutoffMode = CutoffMode.Percent;
+    }
+
+    if (usesRemainingCutoffs == null) {
+      usesRemainingCutoffs = DEFAULT_USES_REMAINING_CUTOFFS;
+    }
+
+    if (!isNormalized(usesRemainingCutoffs,
+        DurabilityAlertConfig::usesRemainingCutoffInBounds)) {
+      usesRemainingCutoffs = usesRemainingCutoffs.stream()
+                             .filter(DurabilityAlertConfig::usesRemainingCutoffInBounds)
+                             .sorted()
+                             .distinct()
+                             .collect(Collectors.toList());
+    }
 
     if (minimumAlertTier == null) {
       minimumAlertTier = DEFAULT_MINIMUM_ALERT_TIER;
     }
+
+    predictiveAlertSeconds = Math.max(0, predictiveAlertSeconds);
+    alertCoalesceTicks = Math.max(0, alertCoalesceTicks);
+    minimumAlertIntervalTicks = Math.max(0, minimumAlertIntervalTicks);
+    scanIntervalTicks = Math.max(1, scanIntervalTicks);
   }
 
-  private static boolean cutoffInBounds(Integer cutoff) {
-    return cutoff != null && cutoff >= 0 && cutoff <= 100;
+  /**
+   * Checks whether a list of cutoffs is already in bounds, sorted and free of duplicates, in which
+   * case it does not need to be normalized again.
+   */
+  private static boolean isNormalized(List<Integer> cutoffs, Predicate<Integer> inBounds) {
+    Integer previous = null;
+    for (Integer cutoff : cutoffs) {
+      if (!inBounds.test(cutoff) || (previous != null && cutoff <= previous)) {
+        return false;
+      }
+      previous = cutoff;
+    }
+    return true;
+  }
+
+  private static boolean usesRemainingCutoffInBounds(Integer cutoff) {
+    return cutoff != null && cutoff > 0 && cutoff <= MAXIMUM_USES_REMAINING_CUTOFF;
+  }
+
+  static enum CutoffMode implements Translatable {
+    Percent,
+    UsesRemaining;
+
+    public String getKey() {
+      return "text.autoconfig.durability-alert-mod.option.cutoffMode.@CutoffMode." + name();
+    }
   }
 
   static enum Material implements Translatable {
-    Wood(ToolMaterials.WOOD),
-    Stone(ToolMaterials.STONE),
-    Iron(ToolMaterials.IRON),
-    Diamond(ToolMaterials.DIAMOND),
-    Gold(ToolMaterials.GOLD),
-    Netherite(ToolMaterials.NETHERITE);
+    Wood(ToolMaterials.WOOD, ArmorMaterials.LEATHER),
+    Stone(ToolMaterials.STONE, ArmorMaterials.CHAIN),
+    Iron(ToolMaterials.IRON, ArmorMaterials.IRON),
+    Diamond(ToolMaterials.DIAMOND, ArmorMaterials.DIAMOND),
+    Gold(ToolMaterials.GOLD, ArmorMaterials.GOLD),
+    Netherite(ToolMaterials.NETHERITE, ArmorMaterials.NETHERITE);
 
     private final ToolMaterials material;
+    private final ArmorMaterials armorMaterial;
 
-    Material(ToolMaterials material) {
+    Material(ToolMaterials material, ArmorMaterials armorMaterial) {
       this.material = material;
+      this.armorMaterial = armorMaterial;
     }
 
     public ToolMaterials getMaterial() {
       return material;
     }
 
+    /**
+     * Finds the tier that corresponds to an armor material.
+     *
+     * @param armorMaterial the armor material
+     * @return the matching tier, or {@code null} if the armor material has no equivalent tier
+     */
+    public static Material forArmorMaterial(ArmorMaterial armorMaterial) {
+      for (Material tier : values()) {
+        if (tier.armorMaterial == armorMaterial) {
+          return tier;
+        }
+      }
+      return null;
+    }
+
     public String getKey() {
       return "text.autoconfig.durability-alert-mod.option.minimumAlertTier.@Material." + name();
     }
@@ -0,0 +1,93 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static me.shedaniel.autoconfig.util.Utils.getUnsafely;
+import static me.shedaniel.autoconfig.util.Utils.setUnsafely;
+import static net.minecraft.text.Text.translatable;
+
+import java.util.Collections;
+import java.util.Optional;
+import me.shedaniel.autoconfig.AutoConfig;
+import me.shedaniel.autoconfig.annotation.ConfigEntry;
+import me.shedaniel.autoconfig.gui.registry.GuiRegistry;
+import me.shedaniel.clothconfig2.api.ConfigEntryBuilder;
+import net.minecraft.client.gui.screen.Screen;
+import net.minecraft.text.Text;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+
+/**
+ * Builds the mod's config screen.
+ *
+ * <p>The GUI providers for the config screen are only registered with AutoConfig the first time
+ * the screen is built, since most sessions never open it.
+ */
+@ClientOnly
+final class DurabilityAlertConfigScreen {
+  private static boolean providersRegistered;
+
+  private DurabilityAlertConfigScreen() {
+  }
+
+  /**
+   * Builds the config screen, registering the GUI providers it needs if they are not already
+   * registered.
+   *
+   * @param parent the screen to return to when the config screen is closed
+   * @return the config screen
+   */
+  static Screen create(Screen parent) {
+    registerGuiProviders();
+    return AutoConfig.getConfigScreen(DurabilityAlertConfig.class, parent).get();
+  }
+
+  private static synchronized void registerGuiProviders() {
+    if (providersRegistered) {
+      return;
+    }
+
+    var registry = AutoConfig.getGuiRegistry(DurabilityAlertConfig.class);
+    var entryBuilder = ConfigEntryBuilder.create();
+
+    registerEnumSelector(registry, entryBuilder, DurabilityAlertConfig.Material.class);
+    registerEnumSelector(registry, entryBuilder, DurabilityAlertConfig.CutoffMode.class);
+
+    registry.registerAnnotationProvider(
+        (i13n, field, config, defaults, guiProvider) -> {
+          CutoffSet defaultCutoffs = getUnsafely(field, defaults);
+
+          return Collections.singletonList(new CutoffSetListEntry(
+              translatable(i13n),
+              getUnsafely(field, config, defaultCutoffs),
+              translatable("text.cloth-config.reset_value"),
+              () -> defaultCutoffs,
+              newValue -> setUnsafely(field, config, newValue),
+              () -> Optional.of(new Text[] {translatable(i13n + ".@Tooltip")})
+          ));
+        },
+        DurabilityAlertConfig.CutoffEditor.class
+    );
+
+    providersRegistered = true;
+  }
+
+  private static <E extends Enum<E>> void registerEnumSelector(GuiRegistry registry,
+      ConfigEntryBuilder entryBuilder, Class<E> enumClass) {
+    registry.registerPredicateProvider(
+        (i13n, field, config, defaults, guiProvider) -> {
+          return Collections.singletonList(
+            entryBuilder.startEnumSelector(
+              translatable(i13n),
+              enumClass,
+              getUnsafely(field, config, getUnsafely(field, defaults))
+            )
+              .setDefaultValue(() -> getUnsafely(field, defaults))
+              .setSaveConsumer(newValue -> setUnsafely(field, config, newValue))
+              .build()
+          );
+        },
+        field -> {
+          return field.getType() == enumClass
+              && !field.isAnnotationPresent(ConfigEntry.Gui.Excluded.class);
+        }
+    );
+  }
+}
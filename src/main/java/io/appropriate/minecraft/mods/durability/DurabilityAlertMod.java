@@ -1,21 +1,14 @@
 package io.appropriate.minecraft.mods.durability;
 
-import static me.shedaniel.autoconfig.util.Utils.getUnsafely;
-import static me.shedaniel.autoconfig.util.Utils.setUnsafely;
-import static net.minecraft.text.Text.literal;
-import static net.minecraft.text.Text.translatable;
-
-import io.appropriate.minecraft.clothconfig2.IntegerSliderListEntry;
-import java.util.Collections;
-import me.shedaniel.autoconfig.AutoConfig;
-import me.shedaniel.autoconfig.ConfigHolder;
-import me.shedaniel.autoconfig.annotation.ConfigEntry;
-import me.shedaniel.autoconfig.serializer.GsonConfigSerializer;
-import me.shedaniel.clothconfig2.api.ConfigEntryBuilder;
+import java.io.IOException;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
 import net.minecraft.util.ActionResult;
 import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.loader.api.QuiltLoader;
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 import org.quiltmc.qsl.base.api.entrypoint.client.ClientModInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * A Minecraft client-side mod that alerts a user each time the durability of a held item falls
@@ -23,7 +16,7 @@
  */
 @ClientOnly
 public class DurabilityAlertMod implements ClientModInitializer {
-  private static final ConfigEntryBuilder ENTRY_BUILDER = ConfigEntryBuilder.create();
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
 
   /**
    * Creates a new instance of the mod.
@@ -34,63 +27,58 @@ public DurabilityAlertMod() {
   /**
    * Initializes the mod on client startup.
    *
-   * <p>Registers handlers related to the mod's configuration screen and settings and installs a
-   * {@link DurabilityAlertAttackCallback} to be notified each time a held item is used to attack a
-   * block or entity.
+   * <p>Loads the mod's settings, collects any {@link DurabilityClassifier}s provided by other
+   * mods, loads the {@link AlertRules}, and installs a {@link DurabilityAlertAttackCallback} to be
+   * notified each time a held item is used to attack a block or entity, along with a
+   * {@link DurabilityInventoryScanner} to optionally check the player's hotbar, offhand and armor
+   * every few ticks. Changes to the config files on disk are picked up by a
+   * {@link ConfigFileWatcher}.
+   *
+   * <p>Everything needed to build the config screen is left to {@link DurabilityAlertConfigScreen}
+   * until the screen is first opened.
    *
    * @param mod the mod which is initialized
    */
   @Override
   public void onInitializeClient(ModContainer mod) {
-    AutoConfig.register(DurabilityAlertConfig.class, GsonConfigSerializer::new);
-
-    var registry = AutoConfig.getGuiRegistry(DurabilityAlertConfig.class);
-
-    registry.registerPredicateProvider(
-        (i13n, field, config, defaults, guiProvider) -> {
-          return Collections.singletonList(
-            ENTRY_BUILDER.startEnumSelector(
-              translatable(i13n),
-              DurabilityAlertConfig.Material.class,
-              getUnsafely(field, config, getUnsafely(field, defaults))
-            )
-              .setDefaultValue(() -> getUnsafely(field, defaults))
-              .setSaveConsumer(newValue -> setUnsafely(field, config, newValue))
-              .build()
-          );
-        },
-        field -> {
-          return field.getType() == DurabilityAlertConfig.Material.class
-              && !field.isAnnotationPresent(ConfigEntry.Gui.Excluded.class);
-        }
-    );
-
-    registry.registerAnnotationProvider(
-        (i13n, field, config, defaults, guiProvider) -> {
-          IntegerSliderListEntry entry = new IntegerSliderListEntry(
-              translatable(i13n), 0, 100,
-              getUnsafely(field, config, getUnsafely(field, defaults)),
-              false, null,
-              newValue -> setUnsafely(field, config, newValue),
-              () -> getUnsafely(field, defaults),
-              0, translatable("text.cloth-config.reset_value"),
-              false, true, false
-          );
+    var start = System.nanoTime();
 
-          entry.setTextGetter(number -> literal(number + "%"));
+    var configHolder = ConfigSnapshotSerializer.register();
 
-          return Collections.singletonList(entry);
-        },
-        DurabilityAlertConfig.IntSliderList.class
-    );
-
-    var configHolder = AutoConfig.getConfigHolder(DurabilityAlertConfig.class);
+    DurabilityClassifiers.registerEntrypoints();
+    AlertRules.load(QuiltLoader.getConfigDir());
 
     final var callback = DurabilityAlertAttackCallback.register(configHolder.getConfig());
+    final var scanner = DurabilityInventoryScanner.register(configHolder.getConfig(), callback);
+    DurabilityAlertCommands.register(callback);
 
     configHolder.registerSaveListener((manager, newData) -> {
+      AlertRules.load(QuiltLoader.getConfigDir());
       callback.updateConfig(newData);
+      scanner.updateConfig(newData);
       return ActionResult.SUCCESS;
     });
+
+    try {
+      ConfigFileWatcher.start(QuiltLoader.getConfigDir(),
+          newData -> {
+            configHolder.setConfig(newData);
+            callback.updateConfig(newData);
+            scanner.updateConfig(newData);
+          },
+          () -> callback.updateConfig(configHolder.getConfig()));
+    } catch (IOException e) {
+      LOGGER.warn("Unable to watch the config directory, config files will not be reloaded", e);
+    }
+
+    // Tag rules can only be resolved once the server has sent its tags
+    CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+      if (client) {
+        AlertRules.load(QuiltLoader.getConfigDir());
+        callback.updateConfig(configHolder.getConfig());
+      }
+    });
+
+    LOGGER.info("Initialized in {} ms", (System.nanoTime() - start) / 1_000_000);
   }
 }
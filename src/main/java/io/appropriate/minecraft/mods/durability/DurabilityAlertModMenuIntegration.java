@@ -2,7 +2,6 @@
 
 import com.terraformersmc.modmenu.api.ConfigScreenFactory;
 import com.terraformersmc.modmenu.api.ModMenuApi;
-import me.shedaniel.autoconfig.AutoConfig;
 import net.minecraft.client.gui.screen.Screen;
 import org.quiltmc.loader.api.minecraft.ClientOnly;
 
@@ -20,9 +19,12 @@ public DurabilityAlertModMenuIntegration() {
 
   /**
    * Builds a factory function to create this mod's config screen, given a parent {@link Screen}.
+   *
+   * <p>ModMenu calls this while it starts up, so nothing related to the config screen is set up
+   * until the factory is actually used.
    */
   @Override
   public ConfigScreenFactory<?> getModConfigScreenFactory() {
-    return parent -> AutoConfig.getConfigScreen(DurabilityAlertConfig.class, parent).get();
+    return DurabilityAlertConfigScreen::create;
   }
 }
@@ -0,0 +1,118 @@
+package io.appropriate.minecraft.mods.durability;
+
+import java.io.IOException;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import org.quiltmc.loader.api.ModContainer;
+import org.quiltmc.loader.api.QuiltLoader;
+import org.quiltmc.loader.api.minecraft.DedicatedServerOnly;
+import org.quiltmc.qsl.base.api.entrypoint.server.DedicatedServerModInitializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An optional server-side companion to the mod, which alerts players on a dedicated server when
+ * their tools are damaged, even if they don't have the mod installed.
+ *
+ * <p>Server alerts are off unless {@code serverAlerts} is set in the server's config, since
+ * players who also have the mod installed would otherwise be alerted twice.
+ */
+@DedicatedServerOnly
+public class DurabilityAlertServer implements DedicatedServerModInitializer {
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+
+  private static volatile boolean enabled;
+  private static PlayerDurabilityCheckers checkers;
+  private static AlertMessageCache messageCache;
+
+  /**
+   * Creates a new instance of the server companion.
+   */
+  public DurabilityAlertServer() {
+  }
+
+  /**
+   * Initializes the mod on dedicated server startup.
+   *
+   * <p>Loads the mod's settings and {@link AlertRules}, and keeps a {@link DurabilityChecker} for
+   * each connected player, which is dropped when the player disconnects. The rules are loaded again
+   * each time the server loads its tags, so that tag rules match.
+   *
+   * @param mod the mod which is initialized
+   */
+  @Override
+  public void onInitializeServer(ModContainer mod) {
+    var configHolder = ConfigSnapshotSerializer.register();
+
+    DurabilityClassifiers.registerEntrypoints();
+    AlertRules.load(QuiltLoader.getConfigDir());
+
+    checkers = new PlayerDurabilityCheckers(configHolder.getConfig());
+    messageCache = new AlertMessageCache();
+    enabled = configHolder.getConfig().serverAlerts;
+
+    ServerPlayConnectionEvents.DISCONNECT.register((handler, server) ->
+        checkers.remove(handler.player.getUuid()));
+
+    try {
+      ConfigFileWatcher.start(QuiltLoader.getConfigDir(),
+          newData -> {
+            configHolder.setConfig(newData);
+            checkers.updateConfig(newData);
+            enabled = newData.serverAlerts;
+          },
+          () -> checkers.updateConfig(configHolder.getConfig()));
+    } catch (IOException e) {
+      LOGGER.warn("Unable to watch the config directory, config files will not be reloaded", e);
+    }
+
+    // Tag rules can only be resolved once the server has loaded its datapacks
+    CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+      if (!client) {
+        AlertRules.load(QuiltLoader.getConfigDir());
+        checkers.updateConfig(configHolder.getConfig());
+      }
+    });
+  }
+
+  /**
+   * Checks a stack after it has been damaged on the server, and alerts the player holding it if
+   * needed. Called on the server thread.
+   *
+   * @param player the player holding the stack
+   * @param stack the stack that was damaged
+   */
+  public static void onItemDamaged(ServerPlayerEntity player, ItemStack stack) {
+    if (!enabled || player.isSpectator()) {
+      return;
+    }
+
+    var slot = findSlot(player.getInventory(), stack);
+    if (slot < 0) {
+      return;
+    }
+
+    var result = checkers.check(player.getUuid(), stack, slot, player.getServer().getTicks());
+    if (result != DurabilityChecker.NO_ALERT) {
+      player.sendMessage(messageCache.getMessage(stack, result), true);
+    }
+  }
+
+  private static int findSlot(PlayerInventory inventory, ItemStack stack) {
+    if (inventory.getMainHandStack() == stack) {
+      return inventory.selectedSlot;
+    }
+    if (inventory.offHand.get(0) == stack) {
+      return PlayerInventory.OFF_HAND_SLOT;
+    }
+    for (int i = 0; i < inventory.armor.size(); i++) {
+      if (inventory.armor.get(i) == stack) {
+        return inventory.main.size() + i;
+      }
+    }
+    return -1;
+  }
+}
@@ -3,27 +3,64 @@
 import static java.util.Objects.requireNonNull;
 
 import java.util.Arrays;
-import java.util.EnumSet;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
-import java.util.stream.Stream;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
-import net.minecraft.item.ToolItem;
-import net.minecraft.item.ToolMaterial;
-import net.minecraft.item.ToolMaterials;
 import net.minecraft.text.TextColor;
 
 /**
  * A {@code DurabilityChecker} checks an {@link ItemStack} for durability changes according to a
  * {@link DurabilityAlertConfig}.
  *
- * <p>The {@code DurabilityChecker} stores the result of its most recent check to allow it to avoid
- * returning repeated results.
+ * <p>The {@code DurabilityChecker} stores the item and alert cutoff of the most recent alert for
+ * each inventory slot to allow it to avoid returning repeated results, even when the player
+ * switches back and forth between tools in different slots or hands.
+ *
+ * <p>In {@code UsesRemaining} cutoff mode, cutoffs are compared against the expected number of
+ * uses left, which accounts for the stack's level of Unbreaking, instead of the remaining
+ * durability percentage.
+ *
+ * <p>When the current tick is passed to a check and {@code predictiveAlertSeconds} is set, the
+ * checker also tracks how quickly each tool is being damaged, and alerts once per tool when it is
+ * expected to break within that many seconds, even if no alert cutoff has been reached.
+ *
+ * <p>The configuration is compiled into an immutable {@link CompiledDurabilityConfig}, which is
+ * replaced as a whole by {@link #updateConfig(DurabilityAlertConfig)}. Updating the configuration
+ * can safely happen on any thread and keeps the history of previous alerts.
  */
 public class DurabilityChecker {
-  private DurabilityAlertConfig config;
-  private Result previous = null;
+  /**
+   * The value returned by {@link #checkItemStackPacked(ItemStack)} when no alert should be shown.
+   */
+  public static final long NO_ALERT = -1L;
+
+  /**
+   * The number of inventory slots for which alerts are tracked, matching the indices used by
+   * {@link net.minecraft.entity.player.PlayerInventory}, including armor and the offhand.
+   */
+  public static final int SLOT_COUNT = PlayerInventory.OFF_HAND_SLOT + 1;
+
+  /**
+   * The slot used by the checks that are not given an explicit slot.
+   */
+  public static final int DEFAULT_SLOT = 0;
+
+  /**
+   * The tick passed by checks that don't know the current tick, which disables predictive alerts.
+   */
+  public static final long NO_TICK = Long.MIN_VALUE;
+
+  private static final int NO_CUTOFF = CompiledDurabilityConfig.NO_CUTOFF;
+
+  private volatile CompiledDurabilityConfig config;
+  private final DurabilityMetrics metrics = new DurabilityMetrics();
+  private final Item[] previousItems = new Item[SLOT_COUNT];
+  private final int[] previousCutoffs = new int[SLOT_COUNT];
+  private final DamageRateTracker damageRates = new DamageRateTracker();
+  private final EffectiveDurabilityCache effectiveDurability = new EffectiveDurabilityCache();
+  private final boolean[] predicted = new boolean[SLOT_COUNT];
 
   /**
    * Construct a {@code DurabilityChecker} with the default {@code DurabilityConfig}.
@@ -38,59 +75,359 @@ public DurabilityChecker() {
    * @param config the configuration to use for determining whether to return a {@code Result}
    */
   public DurabilityChecker(DurabilityAlertConfig config) {
+    updateConfig(config);
+    Arrays.fill(previousCutoffs, NO_CUTOFF);
+  }
+
+  /**
+   * Construct a {@code DurabilityChecker} with a configuration that has already been compiled,
+   * which may be shared with other checkers.
+   *
+   * @param config the compiled configuration
+   */
+  DurabilityChecker(CompiledDurabilityConfig config) {
+    updateConfig(config);
+    Arrays.fill(previousCutoffs, NO_CUTOFF);
+  }
+
+  /**
+   * Replaces the configuration used by this checker.
+   *
+   * <p>The new configuration is compiled before it is published, so concurrent checks see either
+   * the old or the new configuration in full. Alerts that were already shown are not repeated.
+   *
+   * @param config the new configuration
+   */
+  public void updateConfig(DurabilityAlertConfig config) {
+    updateConfig(config, AlertRules.getCurrent());
+  }
+
+  /**
+   * Replaces the configuration used by this checker, along with the alert rules applied on top of
+   * it.
+   *
+   * @param config the new configuration
+   * @param rules the alert rules
+   */
+  void updateConfig(DurabilityAlertConfig config, AlertRules rules) {
+    updateConfig(CompiledDurabilityConfig.compile(requireNonNull(config),
+        DurabilityClassifiers.getClassifiers(), requireNonNull(rules)));
+  }
+
+  /**
+   * Replaces the configuration used by this checker with one that has already been compiled.
+   *
+   * @param config the compiled configuration
+   */
+  void updateConfig(CompiledDurabilityConfig config) {
     this.config = requireNonNull(config);
+    metrics.setEnabled(config.collectMetrics());
+  }
+
+  /**
+   * The compiled configuration currently used by this checker.
+   *
+   * @return the compiled configuration
+   */
+  CompiledDurabilityConfig getConfig() {
+    return config;
   }
 
   /**
    * Checks if the given {@code ItemStack} should trigger an alert based on the {@code
    * DurabilityAlertConfig}.
    *
+   * <p>Alerts are tracked as if the stack were held in {@link #DEFAULT_SLOT}.
+   *
    * @param stack the item stack to check
-   * @return a {@code Result} if an alert should be shown or {@code null} otherwise
+   * @return a {@code Result} if an alert should be shown or an empty {@code Optional} otherwise
    */
   public Optional<Result> checkItemStack(ItemStack stack) {
-    if (!isAlertable(stack)) {
+    return checkItemStack(stack, DEFAULT_SLOT);
+  }
+
+  /**
+   * Checks if the given {@code ItemStack} in the given inventory slot should trigger an alert
+   * based on the {@code DurabilityAlertConfig}.
+   *
+   * @param stack the item stack to check
+   * @param slot the inventory slot holding the stack, from 0 to {@code SLOT_COUNT - 1}
+   * @return a {@code Result} if an alert should be shown or an empty {@code Optional} otherwise
+   */
+  public Optional<Result> checkItemStack(ItemStack stack, int slot) {
+    return checkItemStack(stack, slot, NO_TICK);
+  }
+
+  /**
+   * Checks if the given {@code ItemStack} in the given inventory slot should trigger an alert at
+   * the given tick based on the {@code DurabilityAlertConfig}.
+   *
+   * @param stack the item stack to check
+   * @param slot the inventory slot holding the stack, from 0 to {@code SLOT_COUNT - 1}
+   * @param tick the current tick, used to estimate how quickly the stack is being damaged, or
+   *     {@link #NO_TICK}
+   * @return a {@code Result} if an alert should be shown or an empty {@code Optional} otherwise
+   */
+  public Optional<Result> checkItemStack(ItemStack stack, int slot, long tick) {
+    var packed = checkItemStackPacked(stack, slot, tick);
+
+    if (packed == NO_ALERT) {
       return Optional.empty();
     }
 
-    var result = new Result(stack);
+    return Optional.of(new Result(stack, packed));
+  }
 
-    if (result.alertCutoff.isEmpty() || result.repeats(previous)) {
-      return Optional.empty();
+  /**
+   * Checks if the given {@code ItemStack} should trigger an alert, without allocating.
+   *
+   * <p>This performs the same check as {@link #checkItemStack(ItemStack)}, but packs the result
+   * into a {@code long} that can be unpacked with the methods of {@link PackedResult}.
+   *
+   * <p>Alerts are tracked as if the stack were held in {@link #DEFAULT_SLOT}.
+   *
+   * @param stack the item stack to check
+   * @return a packed result if an alert should be shown or {@link #NO_ALERT} otherwise
+   */
+  public long checkItemStackPacked(ItemStack stack) {
+    return checkItemStackPacked(stack, DEFAULT_SLOT);
+  }
+
+  /**
+   * Checks if the given {@code ItemStack} in the given inventory slot should trigger an alert,
+   * without allocating.
+   *
+   * <p>Since the current tick is not known, no predictive alerts are returned.
+   *
+   * @param stack the item stack to check
+   * @param slot the inventory slot holding the stack, from 0 to {@code SLOT_COUNT - 1}
+   * @return a packed result if an alert should be shown or {@link #NO_ALERT} otherwise
+   */
+  public long checkItemStackPacked(ItemStack stack, int slot) {
+    return checkItemStackPacked(stack, slot, NO_TICK);
+  }
+
+  /**
+   * Checks if the given {@code ItemStack} in the given inventory slot should trigger an alert at
+   * the given tick, without allocating.
+   *
+   * @param stack the item stack to check
+   * @param slot the inventory slot holding the stack, from 0 to {@code SLOT_COUNT - 1}
+   * @param tick the current tick, used to estimate how quickly the stack is being damaged, or
+   *     {@link #NO_TICK}
+   * @return a packed result if an alert should be shown or {@link #NO_ALERT} otherwise
+   */
+  public long checkItemStackPacked(ItemStack stack, int slot, long tick) {
+    Objects.checkIndex(slot, SLOT_COUNT);
+
+    if (!metrics.isEnabled()) {
+      return check(stack, slot, tick);
+    }
+
+    var start = System.nanoTime();
+    var result = check(stack, slot, tick);
+    metrics.recordLatency(System.nanoTime() - start);
+    return result;
+  }
+
+  private long check(ItemStack stack, int slot, long tick) {
+    var config = this.config;
+
+    if (config.isDisabled()) {
+      return reject(DurabilityMetrics.Outcome.REJECTED_DISABLED);
+    }
+
+    var item = stack.getItem();
+    var policy = config.getPolicy(item);
+    switch (CompiledDurabilityConfig.getClassification(policy)) {
+      case CompiledDurabilityConfig.ALWAYS_ALERTABLE:
+        break;
+      case CompiledDurabilityConfig.ALERTABLE_IF_NAMED_OR_ENCHANTED:
+        if ((config.alertAllNamed() && stack.hasCustomName())
+            || (config.alertAllEnchanted() && stack.hasEnchantments())) {
+          break;
+        }
+        return reject(DurabilityMetrics.Outcome.REJECTED_TIER);
+      default:
+        return reject(DurabilityMetrics.Outcome.REJECTED_NOT_ALERTABLE);
+    }
+
+    var maxDamage = stack.getMaxDamage();
+    if (maxDamage <= 0) {
+      return reject(DurabilityMetrics.Outcome.REJECTED_UNDAMAGEABLE);
+    }
+
+    var damage = stack.getDamage();
+    var predictive = tick != NO_TICK && config.getPredictiveAlertTicks() > 0;
+    if (predictive && damageRates.record(slot, item, tick, damage)) {
+      predicted[slot] = false;
+    }
+
+    var percent = calculateRemainingDamagePercent(damage, maxDamage);
+    var usesRemaining = config.isUsesRemainingMode()
+        ? effectiveDurability.getUsesRemaining(slot, stack)
+        : -1;
+    var cutoff = percent > CompiledDurabilityConfig.getPercentLimit(policy)
+        ? NO_CUTOFF
+        : config.isUsesRemainingMode()
+            ? config.findUsesRemainingCutoff(usesRemaining)
+            : config.findAlertCutoff(percent);
+
+    if (cutoff != NO_CUTOFF && !repeats(slot, item, cutoff)) {
+      previousItems[slot] = item;
+      previousCutoffs[slot] = cutoff;
+      metrics.recordOutcome(DurabilityMetrics.Outcome.ALERTED);
+
+      var color = stack.getItemBarColor();
+      return config.isUsesRemainingMode()
+          ? PackedResult.packUsesRemaining(percent, cutoff, usesRemaining, color)
+          : PackedResult.pack(percent, cutoff, color);
+    }
+
+    if (predictive && !predicted[slot]) {
+      var ticksRemaining = damageRates.estimateTicksRemaining(slot, maxDamage);
+      if (ticksRemaining != DamageRateTracker.NO_ESTIMATE
+          && ticksRemaining < config.getPredictiveAlertTicks()) {
+        predicted[slot] = true;
+        metrics.recordOutcome(DurabilityMetrics.Outcome.PREDICTED);
+
+        var secondsRemaining = (int) ((ticksRemaining + 19) / 20);
+        return PackedResult.packPrediction(percent, secondsRemaining, stack.getItemBarColor());
+      }
     }
 
-    previous = result;
+    return reject(cutoff == NO_CUTOFF
+        ? DurabilityMetrics.Outcome.NO_CUTOFF
+        : DurabilityMetrics.Outcome.SUPPRESSED_REPEAT);
+  }
+
+  private long reject(DurabilityMetrics.Outcome outcome) {
+    metrics.recordOutcome(outcome);
+    return NO_ALERT;
+  }
+
+  private boolean repeats(int slot, Item item, int cutoff) {
+    return previousItems[slot] == item && previousCutoffs[slot] == cutoff;
+  }
 
-    return Optional.of(result);
+  static int calculateRemainingDamagePercent(int damage, int maxDamage) {
+    return Math.round(100 * (maxDamage - damage) / (float) maxDamage);
   }
 
-  private Stream<Integer> alertCutoffs() {
-    return config.alertCutoffs.stream();
+  /**
+   * The metrics recorded by this checker, which are only recorded while {@code collectMetrics} is
+   * set in the configuration.
+   *
+   * @return the metrics for this checker
+   */
+  public DurabilityMetrics getMetrics() {
+    return metrics;
   }
 
-  private boolean isAlertable(ItemStack stack) {
-    if (config.disabled) {
-      return false;
+  /**
+   * Accessors for the {@code long} values returned by
+   * {@link DurabilityChecker#checkItemStackPacked(ItemStack)}.
+   *
+   * <p>The lowest 24 bits hold the RGB message color, the next 8 bits hold the remaining damage
+   * percentage and the 16 bits above those hold the alert cutoff. For predictive alerts, the 13
+   * bits above the cutoff hold the estimated number of seconds until the item breaks, and bit 61
+   * is set. For alerts in uses remaining mode, those 13 bits hold the expected number of uses left
+   * instead, and bit 62 is set. The sign bit is never set.
+   */
+  public static final class PackedResult {
+    private static final long PREDICTION_FLAG = 1L << 61;
+    private static final long USES_REMAINING_FLAG = 1L << 62;
+    private static final int MAX_SECONDS = 0x1FFF;
+    private static final int MAX_USES = 0x1FFF;
+
+    private PackedResult() {
+    }
+
+    static long pack(int percent, int cutoff, int color) {
+      return (color & 0xFFFFFFL)
+          | ((long) (percent & 0xFF) << 24)
+          | ((long) (cutoff & 0xFFFF) << 32);
+    }
+
+    static long packPrediction(int percent, int secondsRemaining, int color) {
+      var seconds = Math.max(0, Math.min(MAX_SECONDS, secondsRemaining));
+      return pack(percent, 0, color) | ((long) seconds << 48) | PREDICTION_FLAG;
+    }
+
+    static long packUsesRemaining(int percent, int cutoff, int usesRemaining, int color) {
+      var uses = Math.max(0, Math.min(MAX_USES, usesRemaining));
+      return pack(percent, cutoff, color) | ((long) uses << 48) | USES_REMAINING_FLAG;
+    }
+
+    /**
+     * Whether a packed result was produced in uses remaining mode.
+     *
+     * @param packed a packed result other than {@link DurabilityChecker#NO_ALERT}
+     * @return {@code true} if the alert cutoff is a number of uses rather than a percentage
+     */
+    public static boolean isUsesRemaining(long packed) {
+      return (packed & USES_REMAINING_FLAG) != 0;
     }
 
-    if (!ToolItem.class.isInstance(stack.getItem())) {
-      return false;
+    /**
+     * The expected number of uses left, for alerts in uses remaining mode.
+     *
+     * @param packed a packed result for which {@link #isUsesRemaining(long)} is {@code true}
+     * @return the expected number of uses left, up to 8191
+     */
+    public static int getUsesRemaining(long packed) {
+      return (int) (packed >>> 48) & MAX_USES;
     }
 
-    if (config.alertAllNamed && stack.hasCustomName()) {
-      return true;
+    /**
+     * Whether a packed result is a predictive alert, rather than an alert cutoff being reached.
+     *
+     * @param packed a packed result other than {@link DurabilityChecker#NO_ALERT}
+     * @return {@code true} for predictive alerts
+     */
+    public static boolean isPrediction(long packed) {
+      return (packed & PREDICTION_FLAG) != 0;
     }
 
-    if (config.alertAllEnchanted && stack.hasEnchantments()) {
-      return true;
+    /**
+     * The estimated number of seconds until the item breaks, for predictive alerts.
+     *
+     * @param packed a packed result for which {@link #isPrediction(long)} is {@code true}
+     * @return the estimated number of seconds until the item breaks
+     */
+    public static int getSecondsRemaining(long packed) {
+      return (int) (packed >>> 48) & MAX_SECONDS;
+    }
+
+    /**
+     * The remaining damage percentage stored in a packed result.
+     *
+     * @param packed a packed result other than {@link DurabilityChecker#NO_ALERT}
+     * @return the damage percentage as an integer from 0 to 100
+     */
+    public static int getRemainingDamagePercent(long packed) {
+      return (int) (packed >>> 24) & 0xFF;
     }
 
-    var material = ToolItem.class.cast(stack.getItem()).getMaterial();
-    if (!ToolMaterials.class.isInstance(material)) {
-      return false;
+    /**
+     * The alert cutoff stored in a packed result.
+     *
+     * @param packed a packed result other than {@link DurabilityChecker#NO_ALERT}
+     * @return the alert cutoff that was reached
+     */
+    public static int getAlertCutoff(long packed) {
+      return (int) (packed >>> 32) & 0xFFFF;
     }
 
-    return ((ToolMaterials) material).ordinal() >= config.minimumAlertTier.getMaterial().ordinal();
+    /**
+     * The RGB text color stored in a packed result.
+     *
+     * @param packed a packed result other than {@link DurabilityChecker#NO_ALERT}
+     * @return the color to be used for any displayed message
+     */
+    public static int getDamageMessageColor(long packed) {
+      return (int) packed & 0xFFFFFF;
+    }
   }
 
   /**
@@ -102,25 +439,49 @@ public class Result {
     private final ItemStack stack;
     private final int remainingDamagePercent;
     private final TextColor damageMessageColor;
-    private final Optional<Integer> alertCutoff;
+    private final int alertCutoff;
+    private final boolean prediction;
+    private final int secondsRemaining;
+    private final int usesRemaining;
 
-    private Result(ItemStack stack) {
+    private Result(ItemStack stack, long packed) {
       this.stack = stack;
-      this.remainingDamagePercent = calculateRemainingDamagePercent();
-      this.damageMessageColor = TextColor.fromRgb(stack.getItemBarColor());
-      this.alertCutoff = findAlertCutoff();
+      this.remainingDamagePercent = PackedResult.getRemainingDamagePercent(packed);
+      this.damageMessageColor = TextColor.fromRgb(PackedResult.getDamageMessageColor(packed));
+      this.alertCutoff = PackedResult.getAlertCutoff(packed);
+      this.prediction = PackedResult.isPrediction(packed);
+      this.secondsRemaining = prediction ? PackedResult.getSecondsRemaining(packed) : -1;
+      this.usesRemaining = PackedResult.isUsesRemaining(packed)
+          ? PackedResult.getUsesRemaining(packed)
+          : -1;
     }
 
-    private int calculateRemainingDamagePercent() {
-      return (int) Math.round(
-        100 * (stack.getMaxDamage() - stack.getDamage()) / (float) stack.getMaxDamage()
-      );
+    /**
+     * Whether this {@code Result} is a predictive alert, based on how quickly the
+     * {@code ItemStack} is being damaged, rather than an alert cutoff being reached.
+     *
+     * @return {@code true} for predictive alerts
+     */
+    public boolean isPrediction() {
+      return prediction;
     }
 
-    private Optional<Integer> findAlertCutoff() {
-      return DurabilityChecker.this.alertCutoffs()
-        .filter(cutoff -> cutoff >= remainingDamagePercent)
-        .findFirst();
+    /**
+     * The estimated number of seconds until the {@code ItemStack} breaks.
+     *
+     * @return the estimated number of seconds for predictive alerts, or -1 otherwise
+     */
+    public int getSecondsRemaining() {
+      return secondsRemaining;
+    }
+
+    /**
+     * The expected number of uses left before the {@code ItemStack} breaks.
+     *
+     * @return the expected number of uses in uses remaining mode, or -1 otherwise
+     */
+    public int getUsesRemaining() {
+      return usesRemaining;
     }
 
     /**
@@ -152,7 +513,7 @@ public TextColor getDamageMessageColor() {
     public boolean repeats(Result otherResult) {
       return otherResult != null
         && ItemStack.itemsMatch(stack, otherResult.stack)
-        && Objects.equals(alertCutoff, otherResult.alertCutoff);
+        && alertCutoff == otherResult.alertCutoff;
     }
   }
 }
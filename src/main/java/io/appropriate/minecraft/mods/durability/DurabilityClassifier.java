@@ -0,0 +1,77 @@
+package io.appropriate.minecraft.mods.durability;
+
+import net.minecraft.item.ArmorMaterial;
+import net.minecraft.item.Item;
+import net.minecraft.item.ToolMaterials;
+
+/**
+ * Decides which tier a damageable item belongs to, so that the Durability Alert mod can alert on
+ * items it does not know about, such as modded tools or items made from custom materials.
+ *
+ * <p>Other mods can provide classifiers by declaring a {@value #ENTRYPOINT} entrypoint in their
+ * {@code quilt.mod.json}. Classifiers are consulted in order, and the first one that does not
+ * return {@link #PASS} decides the item's tier. Items that every classifier passes on are
+ * classified by the mod's built-in rules.
+ *
+ * <p>Tiers are ranked on the same scale as the vanilla tool materials, from wood up to netherite,
+ * so a modded material should be ranked by the vanilla material it is comparable to, using
+ * {@link #tierOf(ToolMaterials)} or {@link #tierOf(ArmorMaterial)}. An item alerts whenever its
+ * tier is at or above the minimum alert tier chosen by the player.
+ *
+ * <p>Each item is only classified once per configuration change, and the result is cached, so
+ * classifiers are never called when an item is used.
+ */
+@FunctionalInterface
+public interface DurabilityClassifier {
+  /**
+   * The name of the entrypoint used to provide classifiers.
+   */
+  String ENTRYPOINT = "durability-alert-mod:classifier";
+
+  /**
+   * Returned by {@link #classify(Item)} to leave an item to the next classifier.
+   */
+  int PASS = -1;
+
+  /**
+   * Returned by {@link #classify(Item)} for items that never alert.
+   */
+  int NEVER_ALERTABLE = -2;
+
+  /**
+   * Returned by {@link #classify(Item)} for items with no tier, which only alert when they are
+   * named or enchanted and the player has enabled alerts for those.
+   */
+  int UNTIERED = -3;
+
+  /**
+   * Classifies an item.
+   *
+   * @param item the item to classify
+   * @return the item's tier, or one of {@link #PASS}, {@link #NEVER_ALERTABLE} or
+   *     {@link #UNTIERED}
+   */
+  int classify(Item item);
+
+  /**
+   * The tier of a vanilla tool material.
+   *
+   * @param material the tool material
+   * @return the tier of the material
+   */
+  static int tierOf(ToolMaterials material) {
+    return material.ordinal();
+  }
+
+  /**
+   * The tier of a vanilla armor material.
+   *
+   * @param material the armor material
+   * @return the tier of the material, or {@link #UNTIERED} if it is not a vanilla armor material
+   *     with an equivalent tool material
+   */
+  static int tierOf(ArmorMaterial material) {
+    var tier = DurabilityAlertConfig.Material.forArmorMaterial(material);
+    return tier == null ? UNTIERED : tier.ordinal();
+  }
+}
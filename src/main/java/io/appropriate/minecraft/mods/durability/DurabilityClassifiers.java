@@ -0,0 +1,111 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.item.ArmorItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ToolItem;
+import net.minecraft.item.ToolMaterial;
+import net.minecraft.item.ToolMaterials;
+import org.quiltmc.loader.api.QuiltLoader;
+
+/**
+ * The registered {@link DurabilityClassifier}s, along with the mod's built-in classification
+ * rules.
+ */
+final class DurabilityClassifiers {
+  private static volatile List<DurabilityClassifier> classifiers = List.of();
+
+  private DurabilityClassifiers() {
+  }
+
+  /**
+   * Registers the classifiers provided by every mod through the
+   * {@value DurabilityClassifier#ENTRYPOINT} entrypoint.
+   */
+  static void registerEntrypoints() {
+    QuiltLoader.getEntrypoints(DurabilityClassifier.ENTRYPOINT, DurabilityClassifier.class)
+        .forEach(DurabilityClassifiers::register);
+  }
+
+  /**
+   * Registers a classifier, to be consulted after those already registered. Checkers only use
+   * the new classifier once their config is next updated.
+   *
+   * @param classifier the classifier to register
+   */
+  static synchronized void register(DurabilityClassifier classifier) {
+    var updated = new ArrayList<>(classifiers);
+    updated.add(requireNonNull(classifier));
+    classifiers = List.copyOf(updated);
+  }
+
+  /**
+   * The registered classifiers, in the order they are consulted.
+   *
+   * @return an immutable list of classifiers
+   */
+  static List<DurabilityClassifier> getClassifiers() {
+    return classifiers;
+  }
+
+  /**
+   * Classifies an item using the mod's built-in rules.
+   *
+   * <p>Tools are ranked by their material, and tools made from materials that are not vanilla are
+   * ranked as the strongest vanilla material that they match or exceed in both mining level and
+   * durability. Armor is ranked by its material if it is vanilla, and every other damageable item,
+   * such as elytra, shields, bows and shears, is untiered.
+   *
+   * @param item the item to classify
+   * @return the item's tier, {@link DurabilityClassifier#NEVER_ALERTABLE} or
+   *     {@link DurabilityClassifier#UNTIERED}
+   */
+  static int classifyBuiltIn(Item item) {
+    if (item instanceof ToolItem toolItem) {
+      return tierOf(toolItem.getMaterial());
+    }
+
+    if (!item.isDamageable()) {
+      return DurabilityClassifier.NEVER_ALERTABLE;
+    }
+
+    if (item instanceof ArmorItem armorItem) {
+      return DurabilityClassifier.tierOf(armorItem.getMaterial());
+    }
+
+    return DurabilityClassifier.UNTIERED;
+  }
+
+  /**
+   * Ranks a tool material on the vanilla tier scale.
+   *
+   * <p>A modded material is ranked as the most durable vanilla material that it matches or beats on
+   * both mining level and durability. Gold is left out of that search, since it ranks above
+   * diamond despite being weaker than wood, and would otherwise make every material weaker than
+   * wood alert on every cutoff.
+   *
+   * @param material the tool material
+   * @return the material's tier, or {@link DurabilityClassifier#UNTIERED} if it is weaker than
+   *     every vanilla material other than gold
+   */
+  static int tierOf(ToolMaterial material) {
+    if (material instanceof ToolMaterials vanilla) {
+      return DurabilityClassifier.tierOf(vanilla);
+    }
+
+    ToolMaterials closest = null;
+    for (ToolMaterials vanilla : ToolMaterials.values()) {
+      if (vanilla != ToolMaterials.GOLD
+          && vanilla.getMiningLevel() <= material.getMiningLevel()
+          && vanilla.getDurability() <= material.getDurability()
+          && (closest == null || vanilla.getDurability() > closest.getDurability())) {
+        closest = vanilla;
+      }
+    }
+
+    return closest == null ? DurabilityClassifier.UNTIERED : DurabilityClassifier.tierOf(closest);
+  }
+}
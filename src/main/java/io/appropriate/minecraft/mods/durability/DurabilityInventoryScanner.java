@@ -0,0 +1,131 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import net.fabricmc.fabric.api.client.event.lifecycle.v1.ClientTickEvents;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.player.PlayerInventory;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+
+/**
+ * A listener that checks the durability of the items in the player's hotbar, offhand and armor
+ * slots, so that items which are never used to attack can still trigger alerts.
+ *
+ * <p>Slots are scanned every few client ticks when {@code scanInventory} is set in the
+ * configuration, and whenever the server updates the player's inventory when
+ * {@code alertOnDamageChange} is set. Either way, only slots whose item or damage value changed
+ * since the previous scan are passed on to the {@link DurabilityChecker}, except right after the
+ * config changes, when every slot is checked again under the new config.
+ */
+@ClientOnly
+public class DurabilityInventoryScanner
+    implements ClientTickEvents.EndTick, ClientInventoryUpdateCallback {
+  private static final int[] SCANNED_SLOTS = {
+    0, 1, 2, 3, 4, 5, 6, 7, 8,
+    36, 37, 38, 39,
+    PlayerInventory.OFF_HAND_SLOT,
+  };
+
+  private final DurabilityAlertAttackCallback callback;
+  private final SlotDamageTracker tracker = new SlotDamageTracker();
+  private volatile boolean scanOnTick;
+  private volatile boolean scanOnUpdate;
+  private volatile int intervalTicks;
+  private volatile boolean configChanged;
+  private int ticksSinceScan;
+
+  /**
+   * Registers a new scanner with the given configuration.
+   *
+   * @param config the configuration to use for the new scanner
+   * @param callback the callback whose {@link DurabilityChecker} and alerts should be shared
+   * @return a new scanner
+   */
+  public static DurabilityInventoryScanner register(DurabilityAlertConfig config,
+      DurabilityAlertAttackCallback callback) {
+    var scanner = new DurabilityInventoryScanner(config, callback);
+    ClientTickEvents.END_CLIENT_TICK.register(scanner);
+    ClientInventoryUpdateCallback.EVENT.register(scanner);
+    return scanner;
+  }
+
+  /**
+   * Builds a new scanner instance with the given configuration.
+   *
+   * @param config the configuration to use for this scanner
+   * @param callback the callback whose {@link DurabilityChecker} and alerts should be shared
+   */
+  public DurabilityInventoryScanner(DurabilityAlertConfig config,
+      DurabilityAlertAttackCallback callback) {
+    this.callback = requireNonNull(callback);
+    updateConfig(config);
+  }
+
+  /**
+   * Updates the scanner with a new configuration.
+   *
+   * <p>This may be called from any thread.
+   *
+   * @param config the updated configuration to use for this scanner
+   */
+  public void updateConfig(DurabilityAlertConfig config) {
+    this.scanOnTick = config.scanInventory;
+    this.scanOnUpdate = config.alertOnDamageChange;
+    this.intervalTicks = Math.max(1, config.scanIntervalTicks);
+    // The tracker is only touched on the client thread, so it is cleared before the next scan
+    this.configChanged = true;
+  }
+
+  /**
+   * Called at the end of each client tick.
+   *
+   * @param client the Minecraft client
+   */
+  @Override
+  public void onEndTick(MinecraftClient client) {
+    if (!scanOnTick) {
+      return;
+    }
+
+    if (++ticksSinceScan < intervalTicks) {
+      return;
+    }
+    ticksSinceScan = 0;
+
+    if (client.player == null) {
+      tracker.clear();
+      return;
+    }
+
+    scan(client.player);
+  }
+
+  /**
+   * Called after the server updates the player's inventory.
+   *
+   * @param player the client player
+   */
+  @Override
+  public void onInventoryUpdated(PlayerEntity player) {
+    if (scanOnUpdate) {
+      scan(player);
+    }
+  }
+
+  private void scan(PlayerEntity player) {
+    if (configChanged) {
+      configChanged = false;
+      tracker.clear();
+    }
+
+    var inventory = player.getInventory();
+
+    for (int slot : SCANNED_SLOTS) {
+      var stack = inventory.getStack(slot);
+      if (tracker.update(slot, stack)) {
+        callback.checkStack(player, stack, slot);
+      }
+    }
+  }
+}
@@ -0,0 +1,247 @@
+package io.appropriate.minecraft.mods.durability;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Low-overhead counters and a latency histogram for the durability check hot path.
+ *
+ * <p>Every counter is a {@link LongAdder}, so recording never contends on a single memory location
+ * and never allocates. Latencies are recorded into fixed buckets whose upper bounds are powers of
+ * two, from 128 nanoseconds up to about 2 milliseconds, plus one overflow bucket.
+ *
+ * <p>Nothing is recorded unless the metrics are {@linkplain #setEnabled(boolean) enabled}.
+ */
+public final class DurabilityMetrics {
+  /**
+   * The possible outcomes of a single check.
+   */
+  public enum Outcome {
+    /** Alerts are disabled in the configuration. */
+    REJECTED_DISABLED,
+    /** The item can never trigger alerts. */
+    REJECTED_NOT_ALERTABLE,
+    /** The item's tier is too low and it is neither named nor enchanted. */
+    REJECTED_TIER,
+    /** The item has no durability. */
+    REJECTED_UNDAMAGEABLE,
+    /** The remaining durability is above every alert cutoff. */
+    NO_CUTOFF,
+    /** The alert cutoff was already alerted for the same item in the same slot. */
+    SUPPRESSED_REPEAT,
+    /** An alert was produced. */
+    ALERTED,
+    /** A predictive alert was produced, since the item is expected to break soon. */
+    PREDICTED,
+  }
+
+  private static final int LATENCY_BUCKETS = 16;
+  private static final int FIRST_BUCKET_SHIFT = 7;
+
+  private volatile boolean enabled;
+  private final LongAdder interactions = new LongAdder();
+  private final LongAdder[] outcomes = newAdders(Outcome.values().length);
+  private final LongAdder[] latencies = newAdders(LATENCY_BUCKETS);
+  private final LongAdder totalLatency = new LongAdder();
+
+  private static LongAdder[] newAdders(int count) {
+    var adders = new LongAdder[count];
+    for (int i = 0; i < count; i++) {
+      adders[i] = new LongAdder();
+    }
+    return adders;
+  }
+
+  /**
+   * Whether metrics are currently recorded.
+   *
+   * @return {@code true} if metrics are recorded
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Turns recording of metrics on or off. Metrics recorded so far are kept.
+   *
+   * @param enabled whether to record metrics
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  /**
+   * Records that an attack or inventory update led to a check.
+   */
+  public void recordInteraction() {
+    if (enabled) {
+      interactions.increment();
+    }
+  }
+
+  /**
+   * Records the outcome of a check.
+   *
+   * @param outcome the outcome
+   */
+  public void recordOutcome(Outcome outcome) {
+    if (enabled) {
+      outcomes[outcome.ordinal()].increment();
+    }
+  }
+
+  /**
+   * Records how long a check took.
+   *
+   * @param nanos the duration of the check in nanoseconds
+   */
+  public void recordLatency(long nanos) {
+    if (enabled) {
+      latencies[bucketFor(nanos)].increment();
+      totalLatency.add(nanos);
+    }
+  }
+
+  static int bucketFor(long nanos) {
+    if (nanos <= 0) {
+      return 0;
+    }
+
+    var log2 = 63 - Long.numberOfLeadingZeros(nanos);
+    return Math.min(LATENCY_BUCKETS - 1, Math.max(0, log2 - FIRST_BUCKET_SHIFT + 1));
+  }
+
+  /**
+   * The upper bound of a latency bucket.
+   *
+   * @param bucket the bucket index
+   * @return the exclusive upper bound in nanoseconds, or {@link Long#MAX_VALUE} for the last bucket
+   */
+  static long bucketUpperBound(int bucket) {
+    return bucket == LATENCY_BUCKETS - 1 ? Long.MAX_VALUE : 1L << (bucket + FIRST_BUCKET_SHIFT);
+  }
+
+  /**
+   * The number of checks with the given outcome.
+   *
+   * @param outcome the outcome
+   * @return the number of checks recorded with that outcome
+   */
+  public long getCount(Outcome outcome) {
+    return outcomes[outcome.ordinal()].sum();
+  }
+
+  /**
+   * The number of recorded interactions.
+   *
+   * @return the number of interactions
+   */
+  public long getInteractions() {
+    return interactions.sum();
+  }
+
+  /**
+   * Resets every counter and the latency histogram.
+   */
+  public void reset() {
+    interactions.reset();
+    totalLatency.reset();
+    for (LongAdder adder : outcomes) {
+      adder.reset();
+    }
+    for (LongAdder adder : latencies) {
+      adder.reset();
+    }
+  }
+
+  /**
+   * Describes the current metrics in a few human-readable lines.
+   *
+   * @return the lines of the report
+   */
+  public List<String> report() {
+    var lines = new ArrayList<String>();
+    var checks = 0L;
+    for (LongAdder adder : outcomes) {
+      checks += adder.sum();
+    }
+
+    lines.add(String.format(Locale.ROOT, "Recording: %s", enabled ? "on" : "off"));
+    lines.add(String.format(Locale.ROOT, "Interactions: %d, checks: %d",
+        getInteractions(), checks));
+    for (Outcome outcome : Outcome.values()) {
+      lines.add(String.format(Locale.ROOT, "  %s: %d",
+          outcome.name().toLowerCase(Locale.ROOT), getCount(outcome)));
+    }
+
+    var counts = new long[LATENCY_BUCKETS];
+    var timed = 0L;
+    for (int i = 0; i < LATENCY_BUCKETS; i++) {
+      counts[i] = latencies[i].sum();
+      timed += counts[i];
+    }
+
+    if (timed > 0) {
+      lines.add(String.format(Locale.ROOT, "Latency: mean %d ns, p50 < %s, p99 < %s",
+          totalLatency.sum() / timed,
+          formatBound(percentileBucket(counts, timed, 0.50)),
+          formatBound(percentileBucket(counts, timed, 0.99))));
+
+      var histogram = new StringBuilder("  ");
+      for (int i = 0; i < LATENCY_BUCKETS; i++) {
+        if (counts[i] > 0) {
+          histogram.append(String.format(Locale.ROOT, "<%s: %d  ", formatBound(i), counts[i]));
+        }
+      }
+      lines.add(histogram.toString().stripTrailing());
+    }
+
+    return lines;
+  }
+
+  private static int percentileBucket(long[] counts, long total, double percentile) {
+    var threshold = (long) Math.ceil(total * percentile);
+    var seen = 0L;
+    for (int i = 0; i < counts.length; i++) {
+      seen += counts[i];
+      if (seen >= threshold) {
+        return i;
+      }
+    }
+    return counts.length - 1;
+  }
+
+  private static String formatBound(int bucket) {
+    var bound = bucketUpperBound(bucket);
+    if (bound == Long.MAX_VALUE) {
+      return "inf";
+    } else if (bound >= 1_000_000) {
+      return (bound / 1_000_000) + "ms";
+    } else if (bound >= 1_000) {
+      return (bound / 1_000) + "us";
+    } else {
+      return bound + "ns";
+    }
+  }
+
+  /**
+   * Writes the current report to a file, replacing it if it exists.
+   *
+   * @param path the file to write
+   * @param extraLines additional lines to append to the report
+   * @throws IOException if the file can't be written
+   */
+  public void dump(Path path, List<String> extraLines) throws IOException {
+    var lines = new ArrayList<String>();
+    lines.add("Durability Alert metrics at " + Instant.now());
+    lines.addAll(report());
+    lines.addAll(extraLines);
+    Files.write(path, lines);
+  }
+}
@@ -0,0 +1,269 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Records every stack checked by a {@link DurabilityAlertAttackCallback} into a compact binary
+ * trace, so that alert bugs and performance problems can be reproduced offline with a
+ * {@link DurabilityTraceReplayer}.
+ *
+ * <p>A trace file starts with a header, followed by records that each start with a tag byte. The
+ * first time an item appears in a file, a {@link #DEFINE_ITEM} record assigns it a small id, so
+ * that {@link #EVENT} records only store that id. Events store the tick as a delta from the
+ * previous event, and numbers as variable-length integers, so most events take under ten bytes.
+ *
+ * <p>Records are collected in a buffer and written through a {@link FileChannel} whenever it fills
+ * up. Once a file would grow past {@code maximumFileBytes}, it is rotated, keeping at most
+ * {@code maximumFiles} files. An existing trace is rotated when a recorder is opened, so each
+ * session starts a new file. An I/O error stops the recording rather than the game.
+ *
+ * <p>This class is not thread-safe; it is only used from the client thread.
+ */
+final class DurabilityTraceRecorder implements Closeable {
+  static final int MAGIC = 0x44415452;
+  static final int VERSION = 1;
+  static final String FILE_NAME = "durability-trace.bin";
+
+  static final byte DEFINE_ITEM = 0;
+  static final byte EVENT = 1;
+
+  static final int OFF_HAND = 1;
+  static final int NAMED = 1 << 1;
+  static final int ENCHANTED = 1 << 2;
+
+  static final long DEFAULT_MAXIMUM_FILE_BYTES = 8L << 20;
+  static final int DEFAULT_MAXIMUM_FILES = 4;
+
+  private static final Logger LOGGER = LoggerFactory.getLogger("durability-alert-mod");
+
+  private static final int BUFFER_BYTES = 64 << 10;
+  private static final int HEADER_BYTES = 8;
+  private static final int MAXIMUM_EVENT_BYTES = 1 + 10 + 5 + 5 + 5 + 1 + 1;
+
+  private final Path directory;
+  private final long maximumFileBytes;
+  private final int maximumFiles;
+  private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_BYTES);
+  private final Reference2IntOpenHashMap<Item> itemIds = new Reference2IntOpenHashMap<>();
+
+  private FileChannel channel;
+  private long fileBytes;
+  private long lastTick;
+
+  /**
+   * Opens a recorder that writes to a new trace file in a directory.
+   *
+   * @param directory the directory for trace files, which is created if needed
+   * @param maximumFileBytes the size a trace file may grow to before it is rotated
+   * @param maximumFiles the number of trace files to keep, including the current one
+   * @throws IOException if the trace file cannot be created
+   */
+  DurabilityTraceRecorder(Path directory, long maximumFileBytes, int maximumFiles)
+      throws IOException {
+    if (maximumFiles < 1) {
+      throw new IllegalArgumentException("Must keep at least one trace file: " + maximumFiles);
+    }
+
+    this.directory = requireNonNull(directory);
+    this.maximumFileBytes = maximumFileBytes;
+    this.maximumFiles = maximumFiles;
+    itemIds.defaultReturnValue(-1);
+
+    Files.createDirectories(directory);
+    startFile();
+  }
+
+  /**
+   * Opens a recorder with the default file size and number of files.
+   *
+   * @param directory the directory for trace files
+   * @return the new recorder
+   * @throws IOException if the trace file cannot be created
+   */
+  static DurabilityTraceRecorder open(Path directory) throws IOException {
+    return new DurabilityTraceRecorder(directory, DEFAULT_MAXIMUM_FILE_BYTES,
+        DEFAULT_MAXIMUM_FILES);
+  }
+
+  /**
+   * The path of a trace file.
+   *
+   * @param directory the directory for trace files
+   * @param generation 0 for the current file, or how many times a file has been rotated
+   * @return the path of the file
+   */
+  static Path tracePath(Path directory, int generation) {
+    return directory.resolve(generation == 0
+        ? FILE_NAME
+        : FILE_NAME.replace(".bin", "." + generation + ".bin"));
+  }
+
+  /**
+   * Records a stack being checked. Empty stacks are ignored.
+   *
+   * @param tick the current tick
+   * @param stack the stack being checked
+   * @param slot the inventory slot holding the stack
+   */
+  void record(long tick, ItemStack stack, int slot) {
+    if (channel == null || stack.isEmpty()) {
+      return;
+    }
+
+    try {
+      var item = stack.getItem();
+      var id = itemIds.getInt(item);
+      if (id >= 0) {
+        reserve(MAXIMUM_EVENT_BYTES);
+        // Rotating the file forgets every item id
+        id = itemIds.getInt(item);
+      }
+      if (id < 0) {
+        id = defineItem(item);
+      }
+
+      var delta = tick - lastTick;
+      var start = buffer.position();
+      buffer.put(EVENT);
+      putVarLong(delta << 1 ^ delta >> 63);
+      putVarInt(id);
+      putVarInt(stack.getDamage());
+      putVarInt(stack.getMaxDamage());
+      buffer.put((byte) slot);
+      buffer.put((byte) ((slot == PlayerInventory.OFF_HAND_SLOT ? OFF_HAND : 0)
+          | (stack.hasCustomName() ? NAMED : 0)
+          | (stack.hasEnchantments() ? ENCHANTED : 0)));
+      fileBytes += buffer.position() - start;
+      lastTick = tick;
+    } catch (IOException e) {
+      LOGGER.error("Failed to write durability trace, recording stopped", e);
+      closeQuietly();
+    }
+  }
+
+  /**
+   * Writes a record defining the id of an item, leaving room for an event after it.
+   */
+  private int defineItem(Item item) throws IOException {
+    var name = Registries.ITEM.getId(item).toString().getBytes(StandardCharsets.UTF_8);
+    reserve(1 + 5 + 5 + name.length + MAXIMUM_EVENT_BYTES);
+
+    var id = itemIds.size();
+    var start = buffer.position();
+    buffer.put(DEFINE_ITEM);
+    putVarInt(id);
+    putVarInt(name.length);
+    buffer.put(name);
+    fileBytes += buffer.position() - start;
+
+    itemIds.put(item, id);
+    return id;
+  }
+
+  /**
+   * Makes room in the buffer for a record, rotating the file first if the record might not fit.
+   */
+  private void reserve(int bytes) throws IOException {
+    if (fileBytes + bytes > maximumFileBytes && fileBytes > HEADER_BYTES) {
+      flush();
+      channel.close();
+      startFile();
+    } else if (buffer.remaining() < bytes) {
+      flush();
+    }
+  }
+
+  private void startFile() throws IOException {
+    for (int generation = maximumFiles - 1; generation >= 0; generation--) {
+      var source = tracePath(directory, generation);
+      if (generation == maximumFiles - 1) {
+        Files.deleteIfExists(source);
+      } else if (Files.exists(source)) {
+        Files.move(source, tracePath(directory, generation + 1),
+            StandardCopyOption.REPLACE_EXISTING);
+      }
+    }
+
+    channel = FileChannel.open(tracePath(directory, 0), StandardOpenOption.CREATE_NEW,
+        StandardOpenOption.WRITE);
+    itemIds.clear();
+    lastTick = 0;
+
+    buffer.putInt(MAGIC);
+    buffer.putInt(VERSION);
+    fileBytes = HEADER_BYTES;
+  }
+
+  private void putVarInt(int value) {
+    while ((value & ~0x7F) != 0) {
+      buffer.put((byte) (value & 0x7F | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  private void putVarLong(long value) {
+    while ((value & ~0x7FL) != 0) {
+      buffer.put((byte) (value & 0x7F | 0x80));
+      value >>>= 7;
+    }
+    buffer.put((byte) value);
+  }
+
+  /**
+   * Writes any buffered records to the trace file.
+   *
+   * @throws IOException if the records cannot be written
+   */
+  void flush() throws IOException {
+    if (channel == null) {
+      return;
+    }
+
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (channel == null) {
+      return;
+    }
+
+    try {
+      flush();
+    } finally {
+      channel.close();
+      channel = null;
+    }
+  }
+
+  private void closeQuietly() {
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Failed to close durability trace", e);
+    }
+    channel = null;
+  }
+}
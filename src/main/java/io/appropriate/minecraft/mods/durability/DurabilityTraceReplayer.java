@@ -0,0 +1,226 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static net.minecraft.enchantment.Enchantments.MENDING;
+import static net.minecraft.text.Text.literal;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+
+/**
+ * Reads traces written by a {@link DurabilityTraceRecorder}, and replays them through a
+ * {@link DurabilityChecker}, so that a recorded session can be checked against a different config
+ * or benchmarked offline.
+ *
+ * <p>Replayed stacks carry the same item, damage, slot and named or enchanted state as the recorded
+ * ones, but not their actual names or enchantments. Items that are no longer registered are
+ * skipped.
+ */
+final class DurabilityTraceReplayer {
+  private DurabilityTraceReplayer() {
+  }
+
+  /**
+   * Receives the events of a trace.
+   */
+  @FunctionalInterface
+  interface Listener {
+    /**
+     * Called for each event in a trace.
+     *
+     * @param tick the tick of the event
+     * @param item the item that was checked, or {@link Items#AIR} if it is no longer registered
+     * @param damage the damage of the stack
+     * @param maxDamage the maximum damage of the stack when it was recorded
+     * @param slot the inventory slot holding the stack
+     * @param flags {@link DurabilityTraceRecorder#OFF_HAND}, {@link DurabilityTraceRecorder#NAMED}
+     *     and {@link DurabilityTraceRecorder#ENCHANTED}
+     */
+    void onEvent(long tick, Item item, int damage, int maxDamage, int slot, int flags);
+  }
+
+  /**
+   * The outcome of replaying a trace.
+   *
+   * @param events the number of events replayed
+   * @param alerts the number of alerts the checker returned
+   * @param nanos how long the checks took
+   */
+  record Result(long events, long alerts, long nanos) {
+  }
+
+  /**
+   * Finds the trace files in a directory, oldest first.
+   *
+   * @param directory the directory for trace files
+   * @return the trace files that exist
+   */
+  static List<Path> findTraceFiles(Path directory) {
+    var files = new ArrayList<Path>();
+    for (int generation = 0; ; generation++) {
+      var file = DurabilityTraceRecorder.tracePath(directory, generation);
+      if (!Files.exists(file)) {
+        break;
+      }
+      files.add(0, file);
+    }
+    return files;
+  }
+
+  /**
+   * Reads every event in a trace file.
+   *
+   * @param file the trace file
+   * @param listener the listener to receive each event
+   * @throws IOException if the file cannot be read or is not a trace
+   */
+  static void read(Path file, Listener listener) throws IOException {
+    try (var input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+      if (input.readInt() != DurabilityTraceRecorder.MAGIC
+          || input.readInt() != DurabilityTraceRecorder.VERSION) {
+        throw new IOException("Not a durability trace: " + file);
+      }
+
+      var items = new ArrayList<Item>();
+      var tick = 0L;
+      int tag;
+      while ((tag = input.read()) >= 0) {
+        switch (tag) {
+          case DurabilityTraceRecorder.DEFINE_ITEM -> {
+            var id = readVarInt(input);
+            var name = new byte[readVarInt(input)];
+            input.readFully(name);
+            if (id != items.size()) {
+              throw new IOException("Item defined out of order in " + file);
+            }
+
+            var identifier = Identifier.tryParse(new String(name, StandardCharsets.UTF_8));
+            items.add(identifier == null ? Items.AIR : Registries.ITEM.get(identifier));
+          }
+          case DurabilityTraceRecorder.EVENT -> {
+            var delta = readVarLong(input);
+            tick += delta >>> 1 ^ -(delta & 1);
+
+            var id = readVarInt(input);
+            if (id < 0 || id >= items.size()) {
+              throw new IOException("Undefined item " + id + " in " + file);
+            }
+
+            var damage = readVarInt(input);
+            var maxDamage = readVarInt(input);
+            var slot = input.readUnsignedByte();
+            var flags = input.readUnsignedByte();
+            listener.onEvent(tick, items.get(id), damage, maxDamage, slot, flags);
+          }
+          default -> throw new IOException("Unknown record " + tag + " in " + file);
+        }
+      }
+    } catch (EOFException e) {
+      // A trace that was not closed cleanly ends with a partial record
+    }
+  }
+
+  /**
+   * Replays trace files through a new checker.
+   *
+   * @param files the trace files, oldest first
+   * @param config the config for the checker
+   * @return the outcome of the replay
+   * @throws IOException if a file cannot be read
+   */
+  static Result replay(List<Path> files, DurabilityAlertConfig config) throws IOException {
+    var checker = new DurabilityChecker(config);
+    var replay = new Replay(checker);
+    for (var file : files) {
+      read(file, replay);
+    }
+    return new Result(replay.events, replay.alerts, replay.nanos);
+  }
+
+  private static final class Replay implements Listener {
+    private final DurabilityChecker checker;
+    private final ItemStack[] stacks = new ItemStack[DurabilityChecker.SLOT_COUNT];
+    private long events;
+    private long alerts;
+    private long nanos;
+
+    Replay(DurabilityChecker checker) {
+      this.checker = checker;
+    }
+
+    @Override
+    public void onEvent(long tick, Item item, int damage, int maxDamage, int slot, int flags) {
+      if (item == Items.AIR || slot >= stacks.length) {
+        return;
+      }
+
+      var stack = stacks[slot];
+      if (stack == null || stack.getItem() != item) {
+        stack = new ItemStack(item);
+        stacks[slot] = stack;
+      }
+
+      stack.setDamage(damage);
+      var named = (flags & DurabilityTraceRecorder.NAMED) != 0;
+      if (named != stack.hasCustomName()) {
+        if (named) {
+          stack.setCustomName(literal("Replayed"));
+        } else {
+          stack.removeCustomName();
+        }
+      }
+      var enchanted = (flags & DurabilityTraceRecorder.ENCHANTED) != 0;
+      if (enchanted != stack.hasEnchantments()) {
+        if (enchanted) {
+          stack.addEnchantment(MENDING, 1);
+        } else {
+          stack.removeSubNbt("Enchantments");
+        }
+      }
+
+      var start = System.nanoTime();
+      var result = checker.checkItemStackPacked(stack, slot, tick);
+      nanos += System.nanoTime() - start;
+
+      events++;
+      if (result != DurabilityChecker.NO_ALERT) {
+        alerts++;
+      }
+    }
+  }
+
+  private static int readVarInt(DataInputStream input) throws IOException {
+    var value = 0;
+    for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+      var b = input.readUnsignedByte();
+      value |= (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+
+  private static long readVarLong(DataInputStream input) throws IOException {
+    var value = 0L;
+    for (int shift = 0; shift < Long.SIZE; shift += 7) {
+      var b = input.readUnsignedByte();
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Malformed variable-length integer");
+  }
+}
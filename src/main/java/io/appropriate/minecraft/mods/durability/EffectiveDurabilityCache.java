@@ -0,0 +1,74 @@
+package io.appropriate.minecraft.mods.durability;
+
+import net.minecraft.enchantment.EnchantmentHelper;
+import net.minecraft.enchantment.Enchantments;
+import net.minecraft.item.ArmorItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.nbt.NbtList;
+
+/**
+ * Estimates how many more uses an item has, taking its Unbreaking level into account.
+ *
+ * <p>With Unbreaking level {@code n}, a tool only loses durability on {@code 1 / (n + 1)} of its
+ * uses, and armor on {@code 0.6 + 0.4 / (n + 1)} of the hits it takes. The resulting multiplier
+ * only changes when the stack's enchantments do, so it is cached per inventory slot, keyed on the
+ * identity of the stack's item and enchantment list, and the size of that list, to avoid reading
+ * enchantments on every check. The NBT compound itself is not a usable key, since damage and new
+ * enchantments, such as from {@code /enchant}, are written into the same compound in place.
+ */
+final class EffectiveDurabilityCache {
+  private final Item[] items = new Item[DurabilityChecker.SLOT_COUNT];
+  private final NbtList[] enchantmentLists = new NbtList[DurabilityChecker.SLOT_COUNT];
+  private final int[] enchantmentCounts = new int[DurabilityChecker.SLOT_COUNT];
+  private final float[] multipliers = new float[DurabilityChecker.SLOT_COUNT];
+
+  /**
+   * Estimates the number of uses left for a stack.
+   *
+   * @param slot the inventory slot holding the stack
+   * @param stack the stack
+   * @return the expected number of uses before the stack breaks
+   */
+  int getUsesRemaining(int slot, ItemStack stack) {
+    var remaining = Math.max(0, stack.getMaxDamage() - stack.getDamage());
+    return (int) (remaining * getMultiplier(slot, stack));
+  }
+
+  private float getMultiplier(int slot, ItemStack stack) {
+    var item = stack.getItem();
+    // getEnchantments() returns a new list each time for a stack without enchantments
+    var enchantments = stack.hasEnchantments() ? stack.getEnchantments() : null;
+    var enchantmentCount = enchantments == null ? 0 : enchantments.size();
+
+    if (items[slot] != item || enchantmentLists[slot] != enchantments
+        || enchantmentCounts[slot] != enchantmentCount) {
+      items[slot] = item;
+      enchantmentLists[slot] = enchantments;
+      enchantmentCounts[slot] = enchantmentCount;
+      multipliers[slot] = usesPerDurabilityPoint(item,
+          EnchantmentHelper.getLevel(Enchantments.UNBREAKING, stack));
+    }
+
+    return multipliers[slot];
+  }
+
+  /**
+   * The expected number of uses per point of durability for an item.
+   *
+   * @param item the item
+   * @param unbreakingLevel the item's level of Unbreaking, or 0
+   * @return the expected number of uses per point of durability
+   */
+  static float usesPerDurabilityPoint(Item item, int unbreakingLevel) {
+    if (unbreakingLevel <= 0) {
+      return 1.0f;
+    }
+
+    if (item instanceof ArmorItem) {
+      return 1.0f / (0.6f + 0.4f / (unbreakingLevel + 1));
+    }
+
+    return unbreakingLevel + 1;
+  }
+}
@@ -0,0 +1,118 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import net.minecraft.item.ItemStack;
+
+/**
+ * A {@link DurabilityChecker} for each player on a server, so that every player has their own
+ * alert history.
+ *
+ * <p>Checkers are kept in a {@link ConcurrentHashMap} keyed by player UUID, so checks for
+ * different players never contend on a shared lock. The configuration is compiled once and shared
+ * by every checker, and each check makes sure its checker uses the current one, so a checker
+ * created while the config is being replaced never keeps the old one. Each checker has a fixed
+ * size, and checkers are removed when their player disconnects. No new checkers are created once
+ * {@code maximumPlayers} are tracked, which bounds the memory used even if players are never
+ * removed. Slots are claimed from a counter inside the map's compute call, so concurrent new
+ * players can't go past the limit.
+ */
+final class PlayerDurabilityCheckers {
+  static final int DEFAULT_MAXIMUM_PLAYERS = 1024;
+
+  private final ConcurrentHashMap<UUID, DurabilityChecker> checkers = new ConcurrentHashMap<>();
+  private final AtomicInteger players = new AtomicInteger();
+  private final int maximumPlayers;
+  private volatile CompiledDurabilityConfig config;
+
+  PlayerDurabilityCheckers(DurabilityAlertConfig config) {
+    this(config, DEFAULT_MAXIMUM_PLAYERS);
+  }
+
+  /**
+   * Creates an empty set of checkers.
+   *
+   * @param config the configuration to use for every checker
+   * @param maximumPlayers the maximum number of players to track at once
+   */
+  PlayerDurabilityCheckers(DurabilityAlertConfig config, int maximumPlayers) {
+    this.config = compile(config);
+    this.maximumPlayers = maximumPlayers;
+  }
+
+  private static CompiledDurabilityConfig compile(DurabilityAlertConfig config) {
+    return CompiledDurabilityConfig.compile(requireNonNull(config),
+        DurabilityClassifiers.getClassifiers(), AlertRules.getCurrent());
+  }
+
+  /**
+   * Checks a stack in one of a player's inventory slots, using that player's checker.
+   *
+   * @param player the UUID of the player
+   * @param stack the stack to check
+   * @param slot the inventory slot holding the stack
+   * @param tick the current server tick
+   * @return a packed result if an alert should be shown or {@link DurabilityChecker#NO_ALERT}
+   *     otherwise
+   */
+  long check(UUID player, ItemStack stack, int slot, long tick) {
+    var checker = checkers.get(player);
+    if (checker == null) {
+      checker = checkers.computeIfAbsent(player, this::createChecker);
+      if (checker == null) {
+        return DurabilityChecker.NO_ALERT;
+      }
+    }
+
+    // A checker created while updateConfig was running may not have been updated by it
+    var current = config;
+    if (checker.getConfig() != current) {
+      checker.updateConfig(current);
+    }
+
+    return checker.checkItemStackPacked(stack, slot, tick);
+  }
+
+  private DurabilityChecker createChecker(UUID player) {
+    if (players.incrementAndGet() > maximumPlayers) {
+      players.decrementAndGet();
+      return null;
+    }
+
+    return new DurabilityChecker(config);
+  }
+
+  /**
+   * Forgets a player's alert history, such as when they disconnect.
+   *
+   * @param player the UUID of the player
+   */
+  void remove(UUID player) {
+    if (checkers.remove(player) != null) {
+      players.decrementAndGet();
+    }
+  }
+
+  /**
+   * Replaces the configuration used by every checker, keeping each player's alert history.
+   *
+   * @param config the new configuration
+   */
+  void updateConfig(DurabilityAlertConfig config) {
+    var compiled = compile(config);
+    this.config = compiled;
+    checkers.values().forEach(checker -> checker.updateConfig(compiled));
+  }
+
+  /**
+   * The number of players currently tracked.
+   *
+   * @return the number of players
+   */
+  int size() {
+    return checkers.size();
+  }
+}
@@ -0,0 +1,41 @@
+package io.appropriate.minecraft.mods.durability;
+
+import java.util.Arrays;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+
+/**
+ * Remembers the item and damage value last seen in each inventory slot, so that callers only need
+ * to check slots whose durability actually changed.
+ */
+final class SlotDamageTracker {
+  private final Item[] items = new Item[DurabilityChecker.SLOT_COUNT];
+  private final int[] damage = new int[DurabilityChecker.SLOT_COUNT];
+
+  /**
+   * Records the current state of a slot.
+   *
+   * @param slot the inventory slot, from 0 to {@code DurabilityChecker.SLOT_COUNT - 1}
+   * @param stack the stack currently in the slot
+   * @return {@code true} if the item or its damage changed since the slot was last updated
+   */
+  boolean update(int slot, ItemStack stack) {
+    var item = stack.getItem();
+    var currentDamage = stack.isDamageable() ? stack.getDamage() : 0;
+
+    if (items[slot] == item && damage[slot] == currentDamage) {
+      return false;
+    }
+
+    items[slot] = item;
+    damage[slot] = currentDamage;
+    return true;
+  }
+
+  /**
+   * Forgets every slot, so that the next update of each slot reports a change.
+   */
+  void clear() {
+    Arrays.fill(items, null);
+  }
+}
@@ -0,0 +1,40 @@
+package io.appropriate.minecraft.mods.durability.mixin;
+
+import io.appropriate.minecraft.mods.durability.ClientInventoryUpdateCallback;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.network.ClientPlayNetworkHandler;
+import net.minecraft.network.packet.s2c.play.InventoryS2CPacket;
+import net.minecraft.network.packet.s2c.play.ScreenHandlerSlotUpdateS2CPacket;
+import org.quiltmc.loader.api.minecraft.ClientOnly;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+/**
+ * Invokes {@link ClientInventoryUpdateCallback} once inventory packets have been applied.
+ *
+ * <p>Packet handlers first run on the network thread, where they throw to reschedule themselves on
+ * the client thread, so injecting at the tail only fires on the client thread.
+ */
+@ClientOnly
+@Mixin(ClientPlayNetworkHandler.class)
+abstract class ClientPlayNetworkHandlerMixin {
+  @Inject(method = "onScreenHandlerSlotUpdate", at = @At("TAIL"))
+  private void durabilityAlert$onSlotUpdate(ScreenHandlerSlotUpdateS2CPacket packet,
+      CallbackInfo ci) {
+    durabilityAlert$invokeCallback();
+  }
+
+  @Inject(method = "onInventory", at = @At("TAIL"))
+  private void durabilityAlert$onInventory(InventoryS2CPacket packet, CallbackInfo ci) {
+    durabilityAlert$invokeCallback();
+  }
+
+  private static void durabilityAlert$invokeCallback() {
+    var player = MinecraftClient.getInstance().player;
+    if (player != null) {
+      ClientInventoryUpdateCallback.EVENT.invoker().onInventoryUpdated(player);
+    }
+  }
+}
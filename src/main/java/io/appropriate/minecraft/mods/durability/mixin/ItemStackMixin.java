@@ -0,0 +1,28 @@
+package io.appropriate.minecraft.mods.durability.mixin;
+
+import io.appropriate.minecraft.mods.durability.DurabilityAlertServer;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.util.random.RandomGenerator;
+import org.quiltmc.loader.api.minecraft.DedicatedServerOnly;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+/**
+ * Notifies {@link DurabilityAlertServer} each time a stack held by a player is damaged on a
+ * dedicated server.
+ */
+@DedicatedServerOnly
+@Mixin(ItemStack.class)
+abstract class ItemStackMixin {
+  @Inject(method = "damage(ILnet/minecraft/util/random/RandomGenerator;"
+      + "Lnet/minecraft/server/network/ServerPlayerEntity;)Z", at = @At("RETURN"))
+  private void durabilityAlert$onDamage(int amount, RandomGenerator random,
+      ServerPlayerEntity player, CallbackInfoReturnable<Boolean> cir) {
+    if (player != null && !cir.getReturnValueZ()) {
+      DurabilityAlertServer.onItemDamaged(player, (ItemStack) (Object) this);
+    }
+  }
+}
@@ -0,0 +1,67 @@
+package io.appropriate.minecraft.clothconfig2;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.function.Function;
+import net.minecraft.text.Text;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class IntegerTextCacheTests {
+  private static final class CountingTextGetter implements Function<Integer, Text> {
+    private int invocations;
+
+    @Override
+    public Text apply(Integer value) {
+      invocations++;
+      return Text.literal(value + "%");
+    }
+  }
+
+  @DisplayName("Builds the text for each value only once")
+  @Test
+  void memoizesText() {
+    var textGetter = new CountingTextGetter();
+    var cache = new IntegerTextCache(0, 100, textGetter);
+
+    // Simulate dragging a slider back and forth across the whole range
+    for (int pass = 0; pass < 10; pass++) {
+      for (int value = 0; value <= 100; value++) {
+        var text = cache.apply(value);
+        assertThat(text.getString()).isEqualTo(value + "%");
+      }
+    }
+
+    assertThat(textGetter.invocations).isEqualTo(101);
+    assertThat(cache.apply(50)).isSameInstanceAs(cache.apply(50));
+  }
+
+  @DisplayName("Values outside the range are not cached")
+  @Test
+  void passesThroughOutOfRangeValues() {
+    var textGetter = new CountingTextGetter();
+    var cache = new IntegerTextCache(10, 20, textGetter);
+
+    cache.apply(9);
+    cache.apply(9);
+    cache.apply(21);
+    cache.apply(Integer.MAX_VALUE);
+    assertThat(textGetter.invocations).isEqualTo(4);
+
+    cache.apply(10);
+    cache.apply(20);
+    cache.apply(20);
+    assertThat(textGetter.invocations).isEqualTo(6);
+  }
+
+  @DisplayName("Wide ranges are not cached")
+  @Test
+  void passesThroughWideRanges() {
+    var textGetter = new CountingTextGetter();
+    var cache = new IntegerTextCache(Integer.MIN_VALUE, Integer.MAX_VALUE, textGetter);
+
+    cache.apply(0);
+    cache.apply(0);
+    assertThat(textGetter.invocations).isEqualTo(2);
+  }
+}
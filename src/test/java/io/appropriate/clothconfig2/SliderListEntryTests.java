@@ -0,0 +1,55 @@
+package io.appropriate.minecraft.clothconfig2;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.util.HashSet;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SliderListEntryTests {
+  @DisplayName("Integer slider positions round to the nearest value")
+  @Test
+  void convertsIntegerPositions() {
+    assertThat(IntegerSliderListEntry.valueAt(0.0, 0, 100, 100, 1)).isEqualTo(0);
+    assertThat(IntegerSliderListEntry.valueAt(0.504, 0, 100, 100, 1)).isEqualTo(50);
+    assertThat(IntegerSliderListEntry.valueAt(0.506, 0, 100, 100, 1)).isEqualTo(51);
+    assertThat(IntegerSliderListEntry.valueAt(1.0, 0, 100, 100, 1)).isEqualTo(100);
+    assertThat(IntegerSliderListEntry.valueAt(0.5, -10, 10, 20, 1)).isEqualTo(0);
+
+    assertThat(IntegerSliderListEntry.positionOf(25, 0, 100)).isEqualTo(0.25);
+    assertThat(IntegerSliderListEntry.positionOf(5, 5, 0)).isEqualTo(0.0);
+  }
+
+  @DisplayName("Integer slider values snap to steps")
+  @Test
+  void snapsIntegerValues() {
+    var values = new HashSet<Integer>();
+    for (int pixel = 0; pixel <= 1000; pixel++) {
+      values.add(IntegerSliderListEntry.valueAt(pixel / 1000.0, 0, 100, 100, 5));
+    }
+
+    assertThat(values).hasSize(21);
+    assertThat(values).contains(100);
+    assertThat(values.stream().allMatch(value -> value % 5 == 0)).isTrue();
+  }
+
+  @DisplayName("Snapped values are clamped to the maximum")
+  @Test
+  void clampsSnappedValues() {
+    assertThat(IntegerSliderListEntry.valueAt(1.0, 0, 10, 10, 4)).isEqualTo(10);
+    assertThat(IntegerSliderListEntry.valueAt(0.99, 0, 10, 10, 4)).isEqualTo(8);
+    assertThat(LongSliderListEntry.valueAt(1.0, 0L, 10L, 10, 4L)).isEqualTo(10L);
+  }
+
+  @DisplayName("Long slider values snap to steps")
+  @Test
+  void snapsLongValues() {
+    var maximum = 1L << 40;
+    var step = 1L << 30;
+
+    assertThat(LongSliderListEntry.valueAt(0.5, 0L, maximum, maximum, step)).isEqualTo(1L << 39);
+    assertThat(LongSliderListEntry.valueAt(1.0, 0L, maximum, maximum, step)).isEqualTo(maximum);
+    assertThat(LongSliderListEntry.valueAt(0.5, 0L, maximum, maximum, step) % step).isEqualTo(0L);
+    assertThat(LongSliderListEntry.positionOf(1L << 39, 0L, maximum)).isEqualTo(0.5);
+  }
+}
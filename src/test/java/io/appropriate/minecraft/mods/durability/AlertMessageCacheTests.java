@@ -0,0 +1,96 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.item.Items.DIAMOND_AXE;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.text.Text.literal;
+
+import java.util.List;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import net.minecraft.text.Text;
+import net.minecraft.text.TranslatableTextContent;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AlertMessageCacheTests {
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  @DisplayName("Repeated alerts reuse the same message")
+  @Test
+  void reusesMessages() {
+    var cache = new AlertMessageCache();
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+
+    var first = cache.getMessage(stack, 10, 0xFF0000);
+    var second = cache.getMessage(stack.copy(), 10, 0xFF0000);
+
+    assertThat(second).isSameInstanceAs(first);
+    assertThat(cache.getHits()).isEqualTo(1);
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @DisplayName("Alerts with a different item, name, percentage or color build new messages")
+  @Test
+  void buildsDistinctMessages() {
+    var cache = new AlertMessageCache();
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    var named = stack.copy();
+    named.setCustomName(literal("Pickle"));
+
+    cache.getMessage(stack, 10, 0xFF0000);
+    cache.getMessage(new ItemStack(DIAMOND_AXE), 10, 0xFF0000);
+    cache.getMessage(named, 10, 0xFF0000);
+    cache.getMessage(stack, 5, 0xFF0000);
+    cache.getMessage(stack, 10, 0x00FF00);
+
+    assertThat(cache.getHits()).isEqualTo(0);
+    assertThat(cache.getMisses()).isEqualTo(5);
+  }
+
+  private static Text nameArgument(Text message) {
+    return (Text) ((TranslatableTextContent) message.getContent()).getArgs()[0];
+  }
+
+  @DisplayName("Messages for a named stack italicize their own copy of the name")
+  @Test
+  void doesNotModifyStackName() {
+    var cache = new AlertMessageCache();
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setCustomName(literal("Pickle"));
+
+    var first = cache.getMessage(stack, 10, 0xFF0000);
+    var second = cache.getMessage(stack, 5, 0xFF0000);
+    assertThat(cache.getMisses()).isEqualTo(2);
+
+    for (var message : List.of(first, second)) {
+      assertThat(message.getStyle().isItalic()).isFalse();
+      assertThat(nameArgument(message).getString()).isEqualTo("Pickle");
+      assertThat(nameArgument(message).getStyle().isItalic()).isTrue();
+    }
+    assertThat(nameArgument(second)).isNotSameInstanceAs(nameArgument(first));
+    assertThat(stack.getName().getStyle().isItalic()).isFalse();
+  }
+
+  @DisplayName("The least recently used message is evicted when the cache is full")
+  @Test
+  void evictsLeastRecentlyUsed() {
+    var cache = new AlertMessageCache(2);
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+
+    var ten = cache.getMessage(stack, 10, 0xFF0000);
+    cache.getMessage(stack, 5, 0xFF0000);
+    cache.getMessage(stack, 10, 0xFF0000);
+    cache.getMessage(stack, 1, 0xFF0000);
+
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.getMessage(stack, 10, 0xFF0000)).isSameInstanceAs(ten);
+    assertThat(cache.getHits()).isEqualTo(2);
+  }
+}
@@ -0,0 +1,92 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.item.Items.NETHERITE_SWORD;
+import static net.minecraft.item.Items.SHEARS;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.util.List;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AlertRulesTests {
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  private static CompiledDurabilityConfig compile(String json) {
+    var rules = AlertRules.parse(new StringReader(json));
+    return CompiledDurabilityConfig.compile(new DurabilityAlertConfig(), List.of(), rules);
+  }
+
+  @DisplayName("The first matching rule decides whether an item alerts")
+  @Test
+  void appliesFirstMatchingRule() {
+    var config = compile("""
+        {
+          "rules": [
+            { "items": ["minecraft:shears"], "alert": "always" },
+            { "items": ["minecraft:netherite_sword", "minecraft:shears"], "alert": "never" }
+          ]
+        }
+        """);
+
+    assertThat(config.classify(SHEARS)).isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(config.classify(NETHERITE_SWORD))
+        .isEqualTo(CompiledDurabilityConfig.NEVER_ALERTABLE);
+    assertThat(config.classify(DIAMOND_PICKAXE))
+        .isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(CompiledDurabilityConfig.getPercentLimit(config.getPolicy(DIAMOND_PICKAXE)))
+        .isEqualTo(AlertRules.NO_PERCENT_LIMIT);
+  }
+
+  @DisplayName("Items only alert below the percentage limit of their rule")
+  @Test
+  void limitsAlertsToBelowPercent() {
+    var rules = AlertRules.parse(new StringReader("""
+        { "rules": [ { "items": ["minecraft:diamond_pickaxe"], "belowPercent": 30 } ] }
+        """));
+    var checker = new DurabilityChecker();
+    checker.updateConfig(new DurabilityAlertConfig(), rules);
+
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() / 2);
+    assertThat(checker.checkItemStack(stack)).isEmpty();
+
+    stack.setDamage(stack.getMaxDamage() - stack.getMaxDamage() / 4);
+    assertThat(checker.checkItemStack(stack)).isPresent();
+  }
+
+  @DisplayName("Rules with tags that are not bound do not match")
+  @Test
+  void ignoresUnboundTags() {
+    var config = compile("""
+        { "rules": [ { "items": ["#minecraft:pickaxes"], "alert": "never" } ] }
+        """);
+
+    assertThat(config.classify(DIAMOND_PICKAXE))
+        .isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+  }
+
+  @DisplayName("Invalid rules are rejected")
+  @Test
+  void rejectsInvalidRules() {
+    assertThrows(IllegalArgumentException.class, () -> AlertRules.parse(new StringReader("""
+        { "rules": [ { "items": [] } ] }
+        """)));
+    assertThrows(IllegalArgumentException.class, () -> AlertRules.parse(new StringReader("""
+        { "rules": [ { "items": ["Not An Id"] } ] }
+        """)));
+    assertThrows(IllegalArgumentException.class, () -> AlertRules.parse(new StringReader("""
+        { "rules": [ { "items": ["minecraft:shears"], "belowPercent": 101 } ] }
+        """)));
+  }
+}
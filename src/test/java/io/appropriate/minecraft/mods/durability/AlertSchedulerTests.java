@@ -0,0 +1,108 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AlertSchedulerTests {
+  @DisplayName("Without coalescing or rate limiting, alerts are released on the same tick")
+  @Test
+  void releasesImmediatelyWithoutDelays() {
+    var scheduler = new AlertScheduler<String>(0, 0);
+
+    scheduler.submit(5, 10, "first");
+    assertThat(scheduler.poll(5)).isEqualTo("first");
+    assertThat(scheduler.poll(5)).isNull();
+
+    scheduler.submit(5, 20, "second");
+    assertThat(scheduler.poll(5)).isEqualTo("second");
+  }
+
+  @DisplayName("Alerts are held until the coalescing window closes")
+  @Test
+  void holdsAlertsForCoalescingWindow() {
+    var scheduler = new AlertScheduler<String>(2, 0);
+
+    scheduler.submit(10, 50, "alert");
+    assertThat(scheduler.poll(10)).isNull();
+    assertThat(scheduler.poll(11)).isNull();
+    assertThat(scheduler.poll(12)).isEqualTo("alert");
+  }
+
+  @DisplayName("Only the most severe alert in a window is sent")
+  @Test
+  void sendsMostSevereAlertInWindow() {
+    var scheduler = new AlertScheduler<String>(3, 0);
+
+    scheduler.submit(0, 25, "main hand at 25%");
+    scheduler.submit(1, 5, "offhand at 5%");
+    scheduler.submit(2, 10, "main hand at 10%");
+
+    assertThat(scheduler.poll(2)).isNull();
+    assertThat(scheduler.poll(3)).isEqualTo("offhand at 5%");
+    assertThat(scheduler.poll(4)).isNull();
+  }
+
+  @DisplayName("Equally severe alerts replace each other, so the latest is sent")
+  @Test
+  void sendsLatestOfEquallySevereAlerts() {
+    var scheduler = new AlertScheduler<String>(1, 0);
+
+    scheduler.submit(0, 10, "pickaxe");
+    scheduler.submit(0, 10, "axe");
+
+    assertThat(scheduler.poll(1)).isEqualTo("axe");
+  }
+
+  @DisplayName("Alerts are not released sooner than the minimum interval")
+  @Test
+  void enforcesMinimumInterval() {
+    var scheduler = new AlertScheduler<String>(0, 20);
+
+    scheduler.submit(0, 50, "first");
+    assertThat(scheduler.poll(0)).isEqualTo("first");
+
+    scheduler.submit(5, 25, "second");
+    scheduler.submit(8, 30, "less severe");
+    for (long tick = 5; tick < 20; tick++) {
+      assertThat(scheduler.poll(tick)).isNull();
+    }
+    assertThat(scheduler.poll(20)).isEqualTo("second");
+  }
+
+  @DisplayName("Simulated mining session sends at most one alert per interval")
+  @Test
+  void limitsAlertsDuringSimulatedSession() {
+    var scheduler = new AlertScheduler<Integer>(2, 10);
+    var sent = 0;
+
+    for (long tick = 0; tick < 1000; tick++) {
+      // An alert every other tick, as when two tools cross cutoffs in quick succession
+      if (tick % 2 == 0) {
+        scheduler.submit(tick, (int) (100 - tick / 10), (int) tick);
+      }
+      if (scheduler.poll(tick) != null) {
+        sent++;
+      }
+    }
+
+    assertThat(sent).isAtMost(100);
+    assertThat(sent).isAtLeast(90);
+  }
+
+  @DisplayName("Clearing the scheduler drops pending alerts and resets the interval")
+  @Test
+  void clearDropsPendingAlerts() {
+    var scheduler = new AlertScheduler<String>(0, 100);
+
+    scheduler.submit(0, 10, "first");
+    assertThat(scheduler.poll(0)).isEqualTo("first");
+    scheduler.submit(1, 10, "dropped");
+    scheduler.clear();
+
+    assertThat(scheduler.poll(2)).isNull();
+    scheduler.submit(3, 10, "after clear");
+    assertThat(scheduler.poll(3)).isEqualTo("after clear");
+  }
+}
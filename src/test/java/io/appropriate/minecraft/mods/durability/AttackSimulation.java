@@ -0,0 +1,143 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static net.minecraft.text.Text.literal;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Locale;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.text.Text;
+import net.minecraft.util.Hand;
+
+/**
+ * Replays a {@link SwingTrace} through a {@link DurabilityAlertAttackCallback}, using a stand-in
+ * {@link AlertTarget} instead of a player in a live client.
+ *
+ * <p>Every attack damages the attacking stack by one point, and a stack that would break is
+ * repaired instead, so long traces keep crossing alert cutoffs. The callback is ticked for every
+ * tick in the trace, so alerts are coalesced and rate limited as they would be in the game.
+ */
+final class AttackSimulation {
+  private AttackSimulation() {
+  }
+
+  /**
+   * The outcome of a simulation.
+   *
+   * @param events the number of attacks replayed
+   * @param alerts the number of alerts shown
+   * @param nanos how long the replay took
+   * @param allocatedBytes how many bytes were allocated by the replay
+   */
+  record Report(long events, long alerts, long nanos, long allocatedBytes) {
+    double eventsPerSecond() {
+      return events * 1e9 / Math.max(1, nanos);
+    }
+
+    double bytesPerEvent() {
+      return (double) allocatedBytes / Math.max(1, events);
+    }
+
+    @Override
+    public String toString() {
+      return String.format(Locale.ROOT, "%d events, %d alerts, %.0f events/s, %.1f bytes/event",
+          events, alerts, eventsPerSecond(), bytesPerEvent());
+    }
+  }
+
+  /**
+   * A stand-in player with a fixed hotbar and off hand, which counts the alerts it is shown.
+   */
+  static final class FakeTarget implements AlertTarget {
+    final ItemStack[] hotbar = new ItemStack[9];
+    ItemStack offHand = ItemStack.EMPTY;
+    int selectedSlot;
+    boolean spectator;
+    long alerts;
+
+    FakeTarget() {
+      Arrays.fill(hotbar, ItemStack.EMPTY);
+    }
+
+    /**
+     * Creates a target holding a mix of items that do and don't alert with the default config.
+     *
+     * @return a new target
+     */
+    static FakeTarget withLoadout() {
+      var target = new FakeTarget();
+      target.hotbar[0] = new ItemStack(Items.DIAMOND_PICKAXE);
+      target.hotbar[1] = new ItemStack(Items.NETHERITE_SWORD);
+      target.hotbar[2] = new ItemStack(Items.IRON_AXE);
+      target.hotbar[3] = new ItemStack(Items.DIAMOND_SHOVEL);
+      target.hotbar[4] = new ItemStack(Items.WOODEN_SWORD).setCustomName(literal("Stick"));
+      target.offHand = new ItemStack(Items.SHIELD);
+      return target;
+    }
+
+    @Override
+    public boolean isSpectator() {
+      return spectator;
+    }
+
+    @Override
+    public ItemStack getStackInHand(Hand hand) {
+      return hand == Hand.OFF_HAND ? offHand : hotbar[selectedSlot];
+    }
+
+    @Override
+    public int getSelectedSlot() {
+      return selectedSlot;
+    }
+
+    @Override
+    public void sendAlert(Text message) {
+      alerts++;
+    }
+  }
+
+  /**
+   * Replays a trace through a new callback.
+   *
+   * @param config the config for the callback
+   * @param target the target that attacks
+   * @param trace the attacks to replay
+   * @return a report of the replay
+   */
+  static Report run(DurabilityAlertConfig config, FakeTarget target, SwingTrace trace) {
+    var callback = new DurabilityAlertAttackCallback(config);
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    var startBytes = threads.getCurrentThreadAllocatedBytes();
+    var startNanos = System.nanoTime();
+
+    var tick = 0;
+    for (int i = 0; i < trace.size(); i++) {
+      while (tick < trace.ticks()[i]) {
+        callback.tick(true);
+        tick++;
+      }
+
+      target.selectedSlot = trace.slots()[i];
+      var hand = trace.hand(i);
+      var stack = target.getStackInHand(hand);
+      if (stack.isDamageable()) {
+        var damage = stack.getDamage() + 1;
+        stack.setDamage(damage < stack.getMaxDamage() ? damage : 0);
+      }
+
+      callback.attack(target, hand);
+    }
+
+    // Let the last coalesced alert through
+    for (int i = 0; i <= config.alertCoalesceTicks + config.minimumAlertIntervalTicks; i++) {
+      callback.tick(true);
+    }
+
+    var nanos = System.nanoTime() - startNanos;
+    var allocated = threads.getCurrentThreadAllocatedBytes() - startBytes;
+
+    return new Report(trace.size(), target.alerts, nanos, allocated);
+  }
+}
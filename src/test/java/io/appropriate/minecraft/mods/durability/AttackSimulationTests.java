@@ -0,0 +1,108 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestReporter;
+import org.junit.jupiter.api.io.TempDir;
+
+class AttackSimulationTests {
+  private static final int EVENTS = 2_000_000;
+  private static final int[] ALL_SLOTS = {0, 1, 2, 3, 4, 5, 6, 7, 8};
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  @DisplayName("Replaying the same trace shows the same alerts")
+  @Test
+  void replaysDeterministically(TestReporter reporter) {
+    var trace = SwingTrace.generate(42, EVENTS, ALL_SLOTS);
+
+    var first = AttackSimulation.run(new DurabilityAlertConfig(),
+        AttackSimulation.FakeTarget.withLoadout(), trace);
+    var second = AttackSimulation.run(new DurabilityAlertConfig(),
+        AttackSimulation.FakeTarget.withLoadout(), trace);
+    reporter.publishEntry("simulation", first.toString());
+
+    assertThat(first.alerts()).isGreaterThan(0);
+    assertThat(second.alerts()).isEqualTo(first.alerts());
+  }
+
+  @DisplayName("Alerts are rate limited across a long trace")
+  @Test
+  void limitsAlertRate() {
+    var config = new DurabilityAlertConfig();
+    var trace = SwingTrace.generate(7, EVENTS, ALL_SLOTS);
+    var report = AttackSimulation.run(config, AttackSimulation.FakeTarget.withLoadout(), trace);
+
+    var ticks = trace.ticks()[trace.size() - 1];
+    assertThat(report.alerts()).isAtMost(ticks / config.minimumAlertIntervalTicks + 1);
+  }
+
+  @DisplayName("Items below the minimum tier never alert")
+  @Test
+  void skipsLowTierItems() {
+    var target = AttackSimulation.FakeTarget.withLoadout();
+    target.offHand = new ItemStack(Items.STONE_AXE);
+    var report = AttackSimulation.run(new DurabilityAlertConfig(), target,
+        SwingTrace.generate(3, 100_000, 2));
+
+    assertThat(report.alerts()).isEqualTo(0);
+  }
+
+  @DisplayName("Attacks can be loaded from a recorded durability trace")
+  @Test
+  void replaysRecordedTrace(@TempDir Path traceDir) throws IOException {
+    var target = AttackSimulation.FakeTarget.withLoadout();
+    try (var recorder = new DurabilityTraceRecorder(traceDir, 1 << 20, 2)) {
+      recorder.record(100, target.hotbar[0], 0);
+      recorder.record(101, target.hotbar[1], 1);
+      recorder.record(101, new ItemStack(Items.DIAMOND_CHESTPLATE), 38);
+      recorder.record(103, target.offHand, PlayerInventory.OFF_HAND_SLOT);
+      recorder.record(110, target.hotbar[2], 2);
+    }
+
+    var trace = SwingTrace.load(DurabilityTraceReplayer.findTraceFiles(traceDir));
+    assertThat(trace.ticks()).asList().containsExactly(0, 1, 3, 10).inOrder();
+    assertThat(trace.slots()).asList().containsExactly((byte) 0, (byte) 1, (byte) 1, (byte) 2)
+        .inOrder();
+    assertThat(trace.offHand()).asList().containsExactly(false, false, true, false).inOrder();
+
+    var report = AttackSimulation.run(new DurabilityAlertConfig(), target, trace);
+    assertThat(report.events()).isEqualTo(4);
+  }
+
+  @DisplayName("Spectators are never alerted")
+  @Test
+  void skipsSpectators() {
+    var target = AttackSimulation.FakeTarget.withLoadout();
+    target.spectator = true;
+    var report = AttackSimulation.run(new DurabilityAlertConfig(), target,
+        SwingTrace.generate(5, 100_000, ALL_SLOTS));
+
+    assertThat(report.alerts()).isEqualTo(0);
+  }
+
+  @DisplayName("Replaying attacks allocates little per event")
+  @Test
+  void allocatesLittle(TestReporter reporter) {
+    var report = AttackSimulation.run(new DurabilityAlertConfig(),
+        AttackSimulation.FakeTarget.withLoadout(), SwingTrace.generate(11, EVENTS, ALL_SLOTS));
+    reporter.publishEntry("simulation", report.toString());
+
+    // Damage values above 1024 are stored in new NBT ints, so allow for those
+    assertThat(report.bytesPerEvent()).isLessThan(64.0);
+  }
+}
@@ -0,0 +1,132 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import me.shedaniel.autoconfig.serializer.ConfigSerializer;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigFileWatcherTests {
+  private static final Gson GSON = new Gson();
+  private static final long TIMEOUT_MILLIS = 10_000;
+
+  @TempDir
+  Path configDir;
+
+  private Path configFile;
+  private BlockingQueue<DurabilityAlertConfig> reloads;
+  private ConfigFileWatcher watcher;
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  @BeforeEach
+  void startWatcher() throws IOException {
+    configFile = configDir.resolve("durability-alert-mod.json");
+    reloads = new LinkedBlockingQueue<>();
+    watcher = ConfigFileWatcher.start(configDir, new JsonSerializer(configFile), reloads::add,
+        () -> {});
+  }
+
+  @AfterEach
+  void stopWatcher() throws IOException {
+    watcher.close();
+  }
+
+  @DisplayName("A burst of writes reloads the config once, with the last contents")
+  @Test
+  void debouncesWrites() throws Exception {
+    for (int cutoff = 10; cutoff <= 50; cutoff += 10) {
+      Files.writeString(configFile, "{\"alertCutoffs\": [" + cutoff + "]}");
+      Thread.sleep(ConfigFileWatcher.DEBOUNCE_MILLIS / 10);
+    }
+
+    var config = reloads.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(config).isNotNull();
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(50));
+    assertThat(reloads.poll(ConfigFileWatcher.DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS))
+        .isNull();
+  }
+
+  @DisplayName("Bad config files are ignored and later fixes are still reloaded")
+  @Test
+  void survivesBadFiles() throws Exception {
+    var badFiles = new String[] {"", "{\"alertCutoffs\": [", "{\"alertCutoffs\": [\"x\"]}"};
+    for (var badFile : badFiles) {
+      Files.writeString(configFile, badFile);
+      assertThat(reloads.poll(ConfigFileWatcher.DEBOUNCE_MILLIS * 3, TimeUnit.MILLISECONDS))
+          .isNull();
+    }
+
+    Files.writeString(configFile, "{\"alertCutoffs\": [25]}");
+    var config = reloads.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(config).isNotNull();
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(25));
+  }
+
+  @DisplayName("Errors in the config listener don't stop the watcher")
+  @Test
+  void survivesListenerErrors() throws Exception {
+    watcher.close();
+    watcher = ConfigFileWatcher.start(configDir, new JsonSerializer(configFile), config -> {
+      reloads.add(config);
+      throw new IllegalStateException("Listener failed");
+    }, () -> {});
+
+    Files.writeString(configFile, "{\"alertCutoffs\": [10]}");
+    assertThat(reloads.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)).isNotNull();
+
+    Files.writeString(configFile, "{\"alertCutoffs\": [20]}");
+    var config = reloads.poll(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    assertThat(config).isNotNull();
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(20));
+  }
+
+  private static final class JsonSerializer implements ConfigSerializer<DurabilityAlertConfig> {
+    private final Path file;
+
+    JsonSerializer(Path file) {
+      this.file = file;
+    }
+
+    @Override
+    public void serialize(DurabilityAlertConfig config) {
+      try {
+        Files.writeString(file, GSON.toJson(config));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public DurabilityAlertConfig deserialize() {
+      try {
+        return GSON.fromJson(Files.readString(file), DurabilityAlertConfig.class);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public DurabilityAlertConfig createDefault() {
+      return new DurabilityAlertConfig();
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import me.shedaniel.autoconfig.serializer.ConfigSerializer;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigSnapshotSerializerTests {
+  private static final Gson GSON = new Gson();
+
+  @TempDir
+  Path configDir;
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  private static DurabilityAlertConfig customConfig() {
+    var config = new DurabilityAlertConfig();
+    config.alertCutoffs = CutoffSet.of(0, 5, 63, 64, 100);
+    config.usesRemainingCutoffs = List.of(1, 500, 65535);
+    config.cutoffMode = DurabilityAlertConfig.CutoffMode.UsesRemaining;
+    config.minimumAlertTier = DurabilityAlertConfig.Material.Iron;
+    config.alertAllNamed = false;
+    config.scanInventory = true;
+    config.collectMetrics = true;
+    config.serverAlerts = true;
+    config.recordTrace = true;
+    config.predictiveAlertSeconds = 30;
+    config.alertCoalesceTicks = 0;
+    config.minimumAlertIntervalTicks = 100;
+    config.scanIntervalTicks = 5;
+    return config;
+  }
+
+  @DisplayName("Snapshots keep every config setting")
+  @Test
+  void roundTripsConfig() throws IOException {
+    var bytes = new ByteArrayOutputStream();
+    ConfigSnapshotSerializer.write(new DataOutputStream(bytes), customConfig());
+    var config = ConfigSnapshotSerializer.read(
+        new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+    assertThat(GSON.toJson(config)).isEqualTo(GSON.toJson(customConfig()));
+  }
+
+  @DisplayName("The JSON config is only parsed when it changes")
+  @Test
+  void skipsJsonWhenUnchanged() throws Exception {
+    var jsonFile = configDir.resolve("durability-alert-mod.json");
+    var json = new CountingJsonSerializer(jsonFile);
+    var serializer = new ConfigSnapshotSerializer(json, jsonFile);
+
+    serializer.serialize(customConfig());
+    var config = serializer.deserialize();
+    assertThat(json.deserializeCount).isEqualTo(0);
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(0, 5, 63, 64, 100));
+
+    Files.writeString(jsonFile, "{\"alertCutoffs\": [50, 10, 10]}");
+    config = serializer.deserialize();
+    assertThat(json.deserializeCount).isEqualTo(1);
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(10, 50));
+
+    config = serializer.deserialize();
+    assertThat(json.deserializeCount).isEqualTo(1);
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(10, 50));
+  }
+
+  @DisplayName("Corrupt snapshots are ignored")
+  @Test
+  void ignoresCorruptSnapshot() throws Exception {
+    var jsonFile = configDir.resolve("durability-alert-mod.json");
+    var json = new CountingJsonSerializer(jsonFile);
+    var serializer = new ConfigSnapshotSerializer(json, jsonFile);
+
+    serializer.serialize(customConfig());
+    Files.write(configDir.resolve("durability-alert-mod.json.bin"), new byte[] {1, 2, 3});
+
+    var config = serializer.deserialize();
+    assertThat(json.deserializeCount).isEqualTo(1);
+    assertThat(config.minimumAlertTier).isEqualTo(DurabilityAlertConfig.Material.Iron);
+  }
+
+  private static final class CountingJsonSerializer
+      implements ConfigSerializer<DurabilityAlertConfig> {
+    private final Path file;
+    private int deserializeCount;
+
+    CountingJsonSerializer(Path file) {
+      this.file = file;
+    }
+
+    @Override
+    public void serialize(DurabilityAlertConfig config) {
+      try {
+        Files.writeString(file, GSON.toJson(config));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public DurabilityAlertConfig deserialize() {
+      deserializeCount++;
+      try {
+        return GSON.fromJson(Files.readString(file), DurabilityAlertConfig.class);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    @Override
+    public DurabilityAlertConfig createDefault() {
+      return new DurabilityAlertConfig();
+    }
+  }
+}
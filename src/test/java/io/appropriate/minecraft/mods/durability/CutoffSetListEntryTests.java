@@ -0,0 +1,27 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CutoffSetListEntryTests {
+  @DisplayName("Lays out consecutive cutoffs as a single run")
+  @Test
+  void buildsRuns() {
+    var cutoffs = CutoffSet.of(1, 2, 3, 50);
+
+    assertThat(CutoffSetListEntry.buildRuns(cutoffs, 101)).asList()
+        .containsExactly(1, 4, 50, 51).inOrder();
+    assertThat(CutoffSetListEntry.buildRuns(cutoffs, 202)).asList()
+        .containsExactly(2, 8, 100, 102).inOrder();
+    assertThat(CutoffSetListEntry.buildRuns(CutoffSet.EMPTY, 101)).isEmpty();
+  }
+
+  @DisplayName("Every run is at least a pixel wide")
+  @Test
+  void keepsNarrowRunsVisible() {
+    assertThat(CutoffSetListEntry.buildRuns(CutoffSet.of(0, 100), 50)).asList()
+        .containsExactly(0, 1, 49, 50).inOrder();
+  }
+}
@@ -0,0 +1,76 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+
+import com.google.gson.Gson;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class CutoffSetTests {
+  private static final Gson GSON = new Gson();
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  @DisplayName("Finds the next cutoff across both words")
+  @Test
+  void findsNextSetBit() {
+    var cutoffs = CutoffSet.of(100, 0, 63, 64, 10, 101, -1);
+
+    assertThat(cutoffs.size()).isEqualTo(5);
+    assertThat(cutoffs.toArray()).asList().containsExactly(0, 10, 63, 64, 100).inOrder();
+    assertThat(cutoffs.nextSetBit(0)).isEqualTo(0);
+    assertThat(cutoffs.nextSetBit(1)).isEqualTo(10);
+    assertThat(cutoffs.nextSetBit(11)).isEqualTo(63);
+    assertThat(cutoffs.nextSetBit(64)).isEqualTo(64);
+    assertThat(cutoffs.nextSetBit(65)).isEqualTo(100);
+    assertThat(cutoffs.nextSetBit(101)).isEqualTo(-1);
+    assertThat(CutoffSet.EMPTY.nextSetBit(0)).isEqualTo(-1);
+  }
+
+  @DisplayName("Ignores bits above 100 in the high word")
+  @Test
+  void masksHighWord() {
+    assertThat(CutoffSet.fromWords(0, -1L).toArray()).hasLength(37);
+    assertThat(CutoffSet.fromWords(0, -1L).nextSetBit(100)).isEqualTo(100);
+  }
+
+  @DisplayName("Removes cutoffs from either word")
+  @Test
+  void removesCutoffs() {
+    var cutoffs = CutoffSet.of(5, 70, 100);
+
+    assertThat(cutoffs.without(70)).isEqualTo(CutoffSet.of(5, 100));
+    assertThat(cutoffs.without(5).without(100)).isEqualTo(CutoffSet.of(70));
+    assertThat(cutoffs.without(6)).isSameInstanceAs(cutoffs);
+  }
+
+  @DisplayName("Generates preset cutoffs")
+  @Test
+  void generatesPresets() {
+    assertThat(CutoffSet.linear(10, 100).toArray()).asList()
+        .containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90).inOrder();
+    assertThat(CutoffSet.linear(5, 25).toArray()).asList()
+        .containsExactly(5, 10, 15, 20).inOrder();
+    assertThat(CutoffSet.geometric(1, 2, 100).toArray()).asList()
+        .containsExactly(1, 2, 4, 8, 16, 32, 64).inOrder();
+    assertThat(CutoffSet.geometric(3, 1.5, 20).toArray()).asList()
+        .containsExactly(3, 5, 7, 10, 15).inOrder();
+  }
+
+  @DisplayName("Reads and writes JSON in the list format")
+  @Test
+  void serializesAsList() {
+    var config = GSON.fromJson("{\"alertCutoffs\": [50, 5, 5, 200, -1, null]}",
+        DurabilityAlertConfig.class);
+
+    assertThat(config.alertCutoffs).isEqualTo(CutoffSet.of(5, 50));
+    assertThat(GSON.toJson(CutoffSet.of(50, 5, 75))).isEqualTo("[5,50,75]");
+  }
+}
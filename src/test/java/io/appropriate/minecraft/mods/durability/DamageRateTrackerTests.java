@@ -0,0 +1,146 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.item.Items.DIAMOND_AXE;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DamageRateTrackerTests {
+  private static final int MAX_DAMAGE = 1561;
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  @DisplayName("No estimate is made until enough samples are recorded")
+  @Test
+  void needsMinimumSamples() {
+    var tracker = new DamageRateTracker();
+
+    tracker.record(0, DIAMOND_PICKAXE, 0, 100);
+    tracker.record(0, DIAMOND_PICKAXE, 10, 101);
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE))
+        .isEqualTo(DamageRateTracker.NO_ESTIMATE);
+
+    tracker.record(0, DIAMOND_PICKAXE, 20, 102);
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE))
+        .isNotEqualTo(DamageRateTracker.NO_ESTIMATE);
+  }
+
+  @DisplayName("A steady damage rate is extrapolated to the remaining durability")
+  @Test
+  void estimatesSteadyRate() {
+    var tracker = new DamageRateTracker();
+
+    // One point of damage every 10 ticks, as when mining stone with a pickaxe
+    for (int i = 0; i <= 20; i++) {
+      tracker.record(0, DIAMOND_PICKAXE, i * 10L, 1000 + i);
+    }
+
+    // 541 points left at 10 ticks each
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE)).isEqualTo(5410);
+  }
+
+  @DisplayName("Checks without a change in damage don't add samples")
+  @Test
+  void ignoresUnchangedDamage() {
+    var tracker = new DamageRateTracker();
+
+    tracker.record(0, DIAMOND_PICKAXE, 0, 1500);
+    for (long tick = 1; tick < 100; tick++) {
+      tracker.record(0, DIAMOND_PICKAXE, tick, 1500);
+    }
+    tracker.record(0, DIAMOND_PICKAXE, 100, 1510);
+    tracker.record(0, DIAMOND_PICKAXE, 200, 1520);
+
+    // 20 damage over 200 ticks, with 41 points left
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE)).isEqualTo(410);
+  }
+
+  @DisplayName("Only the most recent samples are used, so a speed-up is noticed")
+  @Test
+  void usesRecentSamples() {
+    var tracker = new DamageRateTracker();
+
+    for (int i = 0; i < 20; i++) {
+      tracker.record(0, DIAMOND_PICKAXE, i * 100L, 1000 + i);
+    }
+    var slow = tracker.estimateTicksRemaining(0, MAX_DAMAGE);
+
+    var tick = 19 * 100L;
+    for (int i = 1; i <= DamageRateTracker.SAMPLES_PER_SLOT; i++) {
+      tracker.record(0, DIAMOND_PICKAXE, tick + i * 5L, 1019 + i * 5);
+    }
+    var fast = tracker.estimateTicksRemaining(0, MAX_DAMAGE);
+
+    assertThat(fast).isLessThan(slow / 10);
+  }
+
+  @DisplayName("Samples that are too old are not used")
+  @Test
+  void ignoresOldSamples() {
+    var tracker = new DamageRateTracker(100);
+
+    tracker.record(0, DIAMOND_PICKAXE, 0, 100);
+    tracker.record(0, DIAMOND_PICKAXE, 10, 101);
+    tracker.record(0, DIAMOND_PICKAXE, 1000, 102);
+    tracker.record(0, DIAMOND_PICKAXE, 1010, 103);
+
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE))
+        .isEqualTo(DamageRateTracker.NO_ESTIMATE);
+
+    tracker.record(0, DIAMOND_PICKAXE, 1020, 104);
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE)).isEqualTo((MAX_DAMAGE - 104) * 10L);
+  }
+
+  @DisplayName("Switching items or repairing resets a slot")
+  @Test
+  void resetsOnNewItemOrRepair() {
+    var tracker = new DamageRateTracker();
+
+    assertThat(tracker.record(0, DIAMOND_PICKAXE, 0, 100)).isTrue();
+    assertThat(tracker.record(0, DIAMOND_PICKAXE, 10, 101)).isFalse();
+    assertThat(tracker.record(0, DIAMOND_PICKAXE, 20, 102)).isFalse();
+    assertThat(tracker.record(0, DIAMOND_PICKAXE, 30, 10)).isTrue();
+    assertThat(tracker.estimateTicksRemaining(0, MAX_DAMAGE))
+        .isEqualTo(DamageRateTracker.NO_ESTIMATE);
+
+    assertThat(tracker.record(0, DIAMOND_AXE, 40, 10)).isTrue();
+    assertThat(tracker.record(1, DIAMOND_AXE, 40, 10)).isTrue();
+  }
+
+  @DisplayName("The checker alerts once when a tool is expected to break soon")
+  @Test
+  void checkerAlertsOnPrediction() {
+    var config = new DurabilityAlertConfig();
+    config.alertCutoffs = CutoffSet.of(1);
+    config.predictiveAlertSeconds = 30;
+    var checker = new DurabilityChecker(config);
+
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    var predictions = 0;
+    var secondsRemaining = -1;
+
+    // Two points of damage per second, starting with 100 points left
+    for (int second = 0; second < 40; second++) {
+      stack.setDamage(stack.getMaxDamage() - 100 + second * 2);
+      var result = checker.checkItemStack(stack, 0, second * 20L);
+      if (result.isPresent() && result.get().isPrediction()) {
+        predictions++;
+        secondsRemaining = result.get().getSecondsRemaining();
+      }
+    }
+
+    assertThat(predictions).isEqualTo(1);
+    assertThat(secondsRemaining).isAtMost(30);
+    assertThat(secondsRemaining).isAtLeast(29);
+  }
+}
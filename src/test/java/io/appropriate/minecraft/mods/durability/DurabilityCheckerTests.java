@@ -3,6 +3,7 @@
 import static com.google.common.truth.Truth.assertThat;
 import static com.google.common.truth.Truth8.assertThat;
 import static net.minecraft.enchantment.Enchantments.MENDING;
+import static net.minecraft.enchantment.Enchantments.UNBREAKING;
 import static net.minecraft.item.Items.BEEF;
 import static net.minecraft.item.Items.DIAMOND_AXE;
 import static net.minecraft.item.Items.DIAMOND_PICKAXE;
@@ -19,6 +20,7 @@
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Random;
 import java.util.Set;
@@ -27,8 +29,10 @@
 import java.util.stream.Stream;
 import net.minecraft.Bootstrap;
 import net.minecraft.SharedConstants;
+import net.minecraft.entity.player.PlayerInventory;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
 import net.minecraft.item.ShovelItem;
 import net.minecraft.item.ToolItem;
 import net.minecraft.item.ToolMaterial;
@@ -124,6 +128,46 @@ private static Stream<Arguments> returnsResultForImportantMaterials() {
     return toolsByMaterials(Set.of(NETHERITE, DIAMOND, GOLD));
   }
 
+  @DisplayName("Checking a damaged tool uses the minimum tier from the checker's own config")
+  @Test
+  void classifiesItemsPerConfig() {
+    var config = new DurabilityAlertConfig();
+    config.minimumAlertTier = DurabilityAlertConfig.Material.Iron;
+
+    var stack = new ItemStack(Items.IRON_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 1);
+
+    assertThat(new DurabilityChecker().checkItemStack(stack)).isEmpty();
+    assertThat(new DurabilityChecker(config).checkItemStack(stack)).isPresent();
+    assertThat(new DurabilityChecker().checkItemStack(stack)).isEmpty();
+  }
+
+  @DisplayName("Unregistered items are classified on their own, not as air")
+  @Test
+  void classifiesUnregisteredItems() {
+    var compiled = CompiledDurabilityConfig.compile(new DurabilityAlertConfig(), List.of());
+
+    var diamondShovel = new ShovelItem(DIAMOND, 0.0f, 0.0f, new Item.Settings());
+    assertThat(compiled.classify(diamondShovel))
+        .isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(compiled.classify(Items.AIR)).isEqualTo(CompiledDurabilityConfig.NEVER_ALERTABLE);
+  }
+
+  @DisplayName("Updating the config keeps the history of previous alerts")
+  @Test
+  void keepsPreviousAlertsWhenConfigIsUpdated() {
+    var checker = new DurabilityChecker();
+
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 1);
+    assertThat(checker.checkItemStack(stack)).isPresent();
+
+    var config = new DurabilityAlertConfig();
+    config.alertAllNamed = false;
+    checker.updateConfig(config);
+    assertThat(checker.checkItemStack(stack.copy())).isEmpty();
+  }
+
   @DisplayName("Checking the same item twice doesn't alert unless new cutoff is reached")
   @Test
   void returnsNullForSameItemWithLittleAdditionalDamage() {
@@ -162,6 +206,25 @@ void returnsResultForDifferentItemWithSameDamage() {
     assertThat(checker.checkItemStack(other)).isPresent();
   }
 
+  @DisplayName("Switching between tools in different slots doesn't repeat alerts")
+  @Test
+  void returnsNullWhenSwitchingBetweenSlots() {
+    var checker = new DurabilityChecker();
+
+    var pickaxe = new ItemStack(DIAMOND_PICKAXE);
+    pickaxe.setDamage(pickaxe.getMaxDamage() / 2 - 1);
+    var axe = new ItemStack(DIAMOND_AXE);
+    axe.setDamage(axe.getMaxDamage() / 2 - 1);
+
+    assertThat(checker.checkItemStack(pickaxe, 0)).isPresent();
+    assertThat(checker.checkItemStack(axe, PlayerInventory.OFF_HAND_SLOT)).isPresent();
+
+    for (int i = 0; i < 3; i++) {
+      assertThat(checker.checkItemStack(pickaxe.copy(), 0)).isEmpty();
+      assertThat(checker.checkItemStack(axe.copy(), PlayerInventory.OFF_HAND_SLOT)).isEmpty();
+    }
+  }
+
   @DisplayName("Checking a named low-tier item alerts")
   @Test
   void returnsResultForNamedLowTierItem() {
@@ -210,6 +273,88 @@ void returnsNullForEnchantedLowTierItemWithoutAlertAllEnchanted() {
     assertThat(checker.checkItemStack(stack)).isEmpty();
   }
 
+  @DisplayName("Checking damaged armor alerts based on its material tier")
+  @Test
+  void returnsResultForImportantArmor() {
+    var checker = new DurabilityChecker();
+
+    var chestplate = new ItemStack(Items.DIAMOND_CHESTPLATE);
+    chestplate.setDamage(chestplate.getMaxDamage() - 1);
+    assertThat(checker.checkItemStack(chestplate, 38)).isPresent();
+
+    var boots = new ItemStack(Items.LEATHER_BOOTS);
+    boots.setDamage(boots.getMaxDamage() - 1);
+    assertThat(checker.checkItemStack(boots, 36)).isEmpty();
+  }
+
+  @DisplayName("Checking an untiered damageable item alerts only if enchanted or named")
+  @Test
+  void returnsResultForEnchantedElytra() {
+    var checker = new DurabilityChecker();
+
+    var elytra = new ItemStack(Items.ELYTRA);
+    elytra.setDamage(elytra.getMaxDamage() - 1);
+    assertThat(checker.checkItemStack(elytra, 38)).isEmpty();
+
+    elytra.addEnchantment(MENDING, 1);
+    assertThat(checker.checkItemStack(elytra, 38)).isPresent();
+  }
+
+  @DisplayName("Unbreaking multiplies the expected uses per durability point")
+  @Test
+  void calculatesUsesPerDurabilityPoint() {
+    assertThat(EffectiveDurabilityCache.usesPerDurabilityPoint(DIAMOND_PICKAXE, 0))
+        .isEqualTo(1.0f);
+    assertThat(EffectiveDurabilityCache.usesPerDurabilityPoint(DIAMOND_PICKAXE, 3))
+        .isEqualTo(4.0f);
+    assertThat(EffectiveDurabilityCache.usesPerDurabilityPoint(Items.DIAMOND_CHESTPLATE, 3))
+        .isWithin(0.001f).of(1.0f / 0.7f);
+  }
+
+  @DisplayName("Enchanting a stack in place updates its expected uses left")
+  @Test
+  void updatesUsesRemainingWhenEnchantedInPlace() {
+    var cache = new EffectiveDurabilityCache();
+
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 10);
+    assertThat(cache.getUsesRemaining(0, stack)).isEqualTo(10);
+
+    stack.addEnchantment(UNBREAKING, 3);
+    assertThat(cache.getUsesRemaining(0, stack)).isEqualTo(40);
+
+    stack.addEnchantment(MENDING, 1);
+    stack.setDamage(stack.getMaxDamage() - 5);
+    assertThat(cache.getUsesRemaining(0, stack)).isEqualTo(20);
+
+    stack.removeSubNbt("Enchantments");
+    assertThat(cache.getUsesRemaining(0, stack)).isEqualTo(5);
+  }
+
+  @DisplayName("Checking in uses remaining mode alerts on the expected uses left")
+  @Test
+  void returnsResultForUsesRemaining() {
+    var config = new DurabilityAlertConfig();
+    config.cutoffMode = DurabilityAlertConfig.CutoffMode.UsesRemaining;
+    config.usesRemainingCutoffs = List.of(10, 50);
+    var checker = new DurabilityChecker(config);
+
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.addEnchantment(UNBREAKING, 3);
+    stack.setDamage(stack.getMaxDamage() - 20);
+    assertThat(checker.checkItemStackPacked(stack)).isEqualTo(DurabilityChecker.NO_ALERT);
+
+    stack.setDamage(stack.getMaxDamage() - 12);
+    var packed = checker.checkItemStackPacked(stack);
+    assertThat(DurabilityChecker.PackedResult.isUsesRemaining(packed)).isTrue();
+    assertThat(DurabilityChecker.PackedResult.getUsesRemaining(packed)).isEqualTo(48);
+    assertThat(DurabilityChecker.PackedResult.getAlertCutoff(packed)).isEqualTo(50);
+    assertThat(DurabilityChecker.PackedResult.isPrediction(packed)).isFalse();
+
+    stack.setDamage(stack.getMaxDamage() - 11);
+    assertThat(checker.checkItemStackPacked(stack)).isEqualTo(DurabilityChecker.NO_ALERT);
+  }
+
   @DisplayName("Checking an item with an exotic material does not alert")
   @Test
   void returnsNullForExoticMaterial() {
@@ -218,6 +363,73 @@ void returnsNullForExoticMaterial() {
     var beefShovel = new ShovelItem(new Beef(), 0.0f, 0.0f, new Item.Settings());
     var stack = new ItemStack(beefShovel);
     assertThat(checker.checkItemStack(stack)).isEmpty();
+
+    var compiled = CompiledDurabilityConfig.compile(new DurabilityAlertConfig(), List.of());
+    assertThat(compiled.classify(beefShovel))
+        .isEqualTo(CompiledDurabilityConfig.ALERTABLE_IF_NAMED_OR_ENCHANTED);
+  }
+
+  @DisplayName("Tools made from modded materials are ranked against vanilla materials")
+  @Test
+  void returnsResultForModdedMaterialComparableToDiamond() {
+    var checker = new DurabilityChecker();
+
+    var mithrilShovel = new ShovelItem(new Mithril(), 0.0f, 0.0f, new Item.Settings());
+    var stack = new ItemStack(mithrilShovel);
+    stack.setDamage(stack.getMaxDamage() - 1);
+    assertThat(checker.checkItemStack(stack)).isPresent();
+
+    var compiled = CompiledDurabilityConfig.compile(new DurabilityAlertConfig(), List.of());
+    assertThat(compiled.classify(mithrilShovel))
+        .isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(DurabilityClassifiers.tierOf(new Mithril()))
+        .isEqualTo(DurabilityClassifier.tierOf(DIAMOND));
+    assertThat(DurabilityClassifiers.tierOf(new Beef()))
+        .isEqualTo(DurabilityClassifier.UNTIERED);
+  }
+
+  @DisplayName("Modded materials weaker than wood are not ranked as gold")
+  @Test
+  void ranksModdedMaterialsWeakerThanWood() {
+    assertThat(DurabilityClassifiers.tierOf(new Scrap(40)))
+        .isEqualTo(DurabilityClassifier.UNTIERED);
+    assertThat(DurabilityClassifiers.tierOf(new Scrap(58)))
+        .isEqualTo(DurabilityClassifier.UNTIERED);
+    assertThat(DurabilityClassifiers.tierOf(new Scrap(59)))
+        .isEqualTo(DurabilityClassifier.tierOf(WOOD));
+    assertThat(DurabilityClassifiers.tierOf(new Scrap(130)))
+        .isEqualTo(DurabilityClassifier.tierOf(WOOD));
+
+    var scrapShovel = new ShovelItem(new Scrap(40), 0.0f, 0.0f, new Item.Settings());
+    var stack = new ItemStack(scrapShovel);
+    stack.setDamage(stack.getMaxDamage() - 1);
+    assertThat(new DurabilityChecker().checkItemStack(stack)).isEmpty();
+  }
+
+  @DisplayName("Registered classifiers take precedence over the built-in rules")
+  @Test
+  void classifiesItemsWithRegisteredClassifiers() {
+    var config = new DurabilityAlertConfig();
+    config.alertAllEnchanted = false;
+    config.alertAllNamed = false;
+
+    DurabilityClassifier shearsClassifier = item -> item == SHEARS
+        ? DurabilityClassifier.tierOf(NETHERITE)
+        : DurabilityClassifier.PASS;
+    DurabilityClassifier neverClassifier = item -> DurabilityClassifier.NEVER_ALERTABLE;
+
+    var compiled = CompiledDurabilityConfig.compile(config, List.of(shearsClassifier));
+    assertThat(compiled.classify(SHEARS)).isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(compiled.classify(DIAMOND_PICKAXE))
+        .isEqualTo(CompiledDurabilityConfig.ALWAYS_ALERTABLE);
+    assertThat(compiled.classify(WOODEN_SHOVEL))
+        .isEqualTo(CompiledDurabilityConfig.ALERTABLE_IF_NAMED_OR_ENCHANTED);
+
+    compiled = CompiledDurabilityConfig.compile(config,
+        List.of(neverClassifier, shearsClassifier));
+    assertThat(compiled.classify(SHEARS)).isEqualTo(CompiledDurabilityConfig.NEVER_ALERTABLE);
+    assertThat(compiled.classify(DIAMOND_PICKAXE))
+        .isEqualTo(CompiledDurabilityConfig.NEVER_ALERTABLE);
   }
 
   static class Beef implements ToolMaterial {
@@ -246,12 +458,37 @@ public Ingredient getRepairIngredient() {
     }
   }
 
+  static class Mithril extends Beef {
+    @Override
+    public int getDurability() {
+      return 2000;
+    }
+
+    @Override
+    public int getMiningLevel() {
+      return 3;
+    }
+  }
+
+  static class Scrap extends Beef {
+    private final int durability;
+
+    Scrap(int durability) {
+      this.durability = durability;
+    }
+
+    @Override
+    public int getDurability() {
+      return durability;
+    }
+  }
+
   @DisplayName("Correctly calculates remaining damage")
   @ParameterizedTest
   @MethodSource
   void correctlyCalculatesRemainingDamage(int percent) {
     var config = new DurabilityAlertConfig();
-    config.alertCutoffs = List.of(100);
+    config.alertCutoffs = CutoffSet.of(100);
     var checker = new DurabilityChecker(config);
 
     var stack = new ItemStack(DIAMOND_PICKAXE);
@@ -275,7 +512,7 @@ static Stream<Arguments> correctlyCalculatesRemainingDamage() {
   @MethodSource
   void correctlyCalculatesDamageColor(int percent) {
     var config = new DurabilityAlertConfig();
-    config.alertCutoffs = List.of(100);
+    config.alertCutoffs = CutoffSet.of(100);
     var checker = new DurabilityChecker(config);
 
     var stack = new ItemStack(DIAMOND_PICKAXE);
@@ -290,4 +527,113 @@ void correctlyCalculatesDamageColor(int percent) {
   static Stream<Arguments> correctlyCalculatesDamageColor() {
     return new Random().ints(20, 0, 100).mapToObj(PERCENT_ARGUMENTS);
   }
+
+  @DisplayName("Finds the lowest alert cutoff at or above a percentage")
+  @Test
+  void findsAlertCutoff() {
+    var config = new DurabilityAlertConfig();
+    config.alertCutoffs = CutoffSet.of(50, 5, 10, 200, -1);
+    var compiled = CompiledDurabilityConfig.compile(config, List.of());
+
+    assertThat(compiled.findAlertCutoff(0)).isEqualTo(5);
+    assertThat(compiled.findAlertCutoff(5)).isEqualTo(5);
+    assertThat(compiled.findAlertCutoff(6)).isEqualTo(10);
+    assertThat(compiled.findAlertCutoff(11)).isEqualTo(50);
+    assertThat(compiled.findAlertCutoff(50)).isEqualTo(50);
+    assertThat(compiled.findAlertCutoff(51)).isEqualTo(CompiledDurabilityConfig.NO_CUTOFF);
+    assertThat(compiled.findAlertCutoff(100)).isEqualTo(CompiledDurabilityConfig.NO_CUTOFF);
+  }
+
+  @DisplayName("Checking stacks that do not alert does not allocate")
+  @Test
+  void doesNotAllocateWithoutAlert() {
+    var threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var checker = new DurabilityChecker();
+
+    var fresh = new ItemStack(DIAMOND_PICKAXE);
+    var lowTier = new ItemStack(WOODEN_SHOVEL);
+    lowTier.setDamage(lowTier.getMaxDamage() - 1);
+    var repeated = new ItemStack(DIAMOND_AXE);
+    repeated.setDamage(repeated.getMaxDamage() - 1);
+    assertThat(checker.checkItemStackPacked(repeated)).isNotEqualTo(DurabilityChecker.NO_ALERT);
+
+    var iterations = 100_000;
+    for (int i = 0; i < iterations; i++) {
+      checker.checkItemStackPacked(fresh);
+      checker.checkItemStackPacked(lowTier);
+      checker.checkItemStackPacked(repeated);
+    }
+
+    // Measure the cost of measuring, so that only the checks themselves are counted
+    var calibrationStart = threads.getCurrentThreadAllocatedBytes();
+    var calibration = threads.getCurrentThreadAllocatedBytes() - calibrationStart;
+
+    var start = threads.getCurrentThreadAllocatedBytes();
+    var alerts = 0;
+    for (int i = 0; i < iterations; i++) {
+      alerts += checker.checkItemStackPacked(fresh) == DurabilityChecker.NO_ALERT ? 0 : 1;
+      alerts += checker.checkItemStackPacked(lowTier) == DurabilityChecker.NO_ALERT ? 0 : 1;
+      alerts += checker.checkItemStackPacked(repeated) == DurabilityChecker.NO_ALERT ? 0 : 1;
+    }
+    var allocated = threads.getCurrentThreadAllocatedBytes() - start;
+
+    assertThat(alerts).isEqualTo(0);
+    assertThat(allocated).isAtMost(calibration);
+  }
+
+  @DisplayName("Metrics count each outcome when enabled")
+  @Test
+  void recordsMetricsWhenEnabled() {
+    var config = new DurabilityAlertConfig();
+    config.collectMetrics = true;
+    var checker = new DurabilityChecker(config);
+    var metrics = checker.getMetrics();
+
+    var damaged = new ItemStack(DIAMOND_PICKAXE);
+    damaged.setDamage(damaged.getMaxDamage() - 1);
+    var lowTier = new ItemStack(WOODEN_SHOVEL);
+    lowTier.setDamage(lowTier.getMaxDamage() - 1);
+
+    checker.checkItemStack(damaged);
+    checker.checkItemStack(damaged);
+    checker.checkItemStack(new ItemStack(DIAMOND_AXE));
+    checker.checkItemStack(lowTier);
+    checker.checkItemStack(new ItemStack(BEEF));
+
+    assertThat(metrics.getCount(DurabilityMetrics.Outcome.ALERTED)).isEqualTo(1);
+    assertThat(metrics.getCount(DurabilityMetrics.Outcome.SUPPRESSED_REPEAT)).isEqualTo(1);
+    assertThat(metrics.getCount(DurabilityMetrics.Outcome.NO_CUTOFF)).isEqualTo(1);
+    assertThat(metrics.getCount(DurabilityMetrics.Outcome.REJECTED_TIER)).isEqualTo(1);
+    assertThat(metrics.getCount(DurabilityMetrics.Outcome.REJECTED_NOT_ALERTABLE)).isEqualTo(1);
+    assertThat(metrics.report()).isNotEmpty();
+  }
+
+  @DisplayName("Metrics are not recorded unless enabled")
+  @Test
+  void recordsNoMetricsWhenDisabled() {
+    var checker = new DurabilityChecker();
+
+    var damaged = new ItemStack(DIAMOND_PICKAXE);
+    damaged.setDamage(damaged.getMaxDamage() - 1);
+    checker.checkItemStack(damaged);
+
+    assertThat(checker.getMetrics().getCount(DurabilityMetrics.Outcome.ALERTED)).isEqualTo(0);
+  }
+
+  @DisplayName("Packed results match the Result for the same check")
+  @Test
+  void packedResultMatchesResult() {
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() * 3 / 4);
+
+    var packed = new DurabilityChecker().checkItemStackPacked(stack);
+    var result = new DurabilityChecker().checkItemStack(stack);
+
+    assertThat(result).isPresent();
+    assertThat(DurabilityChecker.PackedResult.getRemainingDamagePercent(packed))
+        .isEqualTo(result.get().getRemainingDamagePercent());
+    assertThat(DurabilityChecker.PackedResult.getDamageMessageColor(packed))
+        .isEqualTo(result.get().getDamageMessageColor().getRgb());
+    assertThat(DurabilityChecker.PackedResult.getAlertCutoff(packed)).isEqualTo(25);
+  }
 }
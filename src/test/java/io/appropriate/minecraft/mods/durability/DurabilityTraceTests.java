@@ -0,0 +1,150 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.enchantment.Enchantments.UNBREAKING;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.item.Items.ELYTRA;
+import static net.minecraft.item.Items.NETHERITE_SWORD;
+import static net.minecraft.item.Items.SHIELD;
+import static net.minecraft.text.Text.literal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class DurabilityTraceTests {
+  @TempDir
+  Path traceDir;
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  private record Event(long tick, Item item, int damage, int maxDamage, int slot, int flags) {
+  }
+
+  private static List<Event> readAll(List<Path> files) throws IOException {
+    var events = new ArrayList<Event>();
+    for (var file : files) {
+      DurabilityTraceReplayer.read(file, (tick, item, damage, maxDamage, slot, flags) ->
+          events.add(new Event(tick, item, damage, maxDamage, slot, flags)));
+    }
+    return events;
+  }
+
+  @DisplayName("Reads back every recorded event")
+  @Test
+  void roundTripsEvents() throws IOException {
+    var pickaxe = new ItemStack(DIAMOND_PICKAXE);
+    pickaxe.setDamage(1500);
+    var sword = new ItemStack(NETHERITE_SWORD);
+    sword.setCustomName(literal("Sting"));
+    sword.addEnchantment(UNBREAKING, 3);
+    var shield = new ItemStack(SHIELD);
+
+    try (var recorder = new DurabilityTraceRecorder(traceDir, 1 << 20, 2)) {
+      recorder.record(5, pickaxe, 0);
+      recorder.record(5, sword, 1);
+      recorder.record(100_000, shield, PlayerInventory.OFF_HAND_SLOT);
+      recorder.record(100_001, ItemStack.EMPTY, 2);
+      recorder.record(100_002, pickaxe, 0);
+    }
+
+    var events = readAll(DurabilityTraceReplayer.findTraceFiles(traceDir));
+    assertThat(events).containsExactly(
+        new Event(5, DIAMOND_PICKAXE, 1500, 1561, 0, 0),
+        new Event(5, NETHERITE_SWORD, 0, 2031, 1,
+            DurabilityTraceRecorder.NAMED | DurabilityTraceRecorder.ENCHANTED),
+        new Event(100_000, SHIELD, 0, 336, PlayerInventory.OFF_HAND_SLOT,
+            DurabilityTraceRecorder.OFF_HAND),
+        new Event(100_002, DIAMOND_PICKAXE, 1500, 1561, 0, 0)).inOrder();
+  }
+
+  @DisplayName("Rotates trace files to bound their size")
+  @Test
+  void rotatesFiles() throws IOException {
+    var maximumFileBytes = 256;
+    var stacks = List.of(new ItemStack(DIAMOND_PICKAXE), new ItemStack(ELYTRA),
+        new ItemStack(SHIELD));
+
+    try (var recorder = new DurabilityTraceRecorder(traceDir, maximumFileBytes, 3)) {
+      for (int i = 0; i < 1000; i++) {
+        var stack = stacks.get(i % stacks.size());
+        stack.setDamage(i % stack.getMaxDamage());
+        recorder.record(i, stack, i % 9);
+      }
+    }
+
+    var files = DurabilityTraceReplayer.findTraceFiles(traceDir);
+    assertThat(files).hasSize(3);
+    for (var file : files) {
+      assertThat(Files.size(file)).isAtMost(maximumFileBytes);
+    }
+
+    // Every file defines its own items, so the newest events can be read from any file onwards
+    var events = readAll(files);
+    assertThat(events.size()).isLessThan(1000);
+    assertThat(events.get(events.size() - 1))
+        .isEqualTo(new Event(999, DIAMOND_PICKAXE, 999, 1561, 0, 0));
+    for (int i = 1; i < events.size(); i++) {
+      assertThat(events.get(i).tick()).isEqualTo(events.get(i - 1).tick() + 1);
+    }
+  }
+
+  @DisplayName("Each recorder starts a new trace file")
+  @Test
+  void keepsPreviousSession() throws IOException {
+    try (var recorder = DurabilityTraceRecorder.open(traceDir)) {
+      recorder.record(1, new ItemStack(ELYTRA), 38);
+    }
+    try (var recorder = DurabilityTraceRecorder.open(traceDir)) {
+      recorder.record(2, new ItemStack(SHIELD), 40);
+    }
+
+    var files = DurabilityTraceReplayer.findTraceFiles(traceDir);
+    assertThat(files).containsExactly(DurabilityTraceRecorder.tracePath(traceDir, 1),
+        DurabilityTraceRecorder.tracePath(traceDir, 0)).inOrder();
+    assertThat(readAll(files).stream().map(Event::item).toList())
+        .containsExactly(ELYTRA, SHIELD).inOrder();
+  }
+
+  @DisplayName("Replaying a trace gives the same alerts as the recorded checks")
+  @Test
+  void replaysThroughChecker() throws IOException {
+    var checker = new DurabilityChecker(new DurabilityAlertConfig());
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    var alerts = 0;
+
+    try (var recorder = DurabilityTraceRecorder.open(traceDir)) {
+      for (int damage = 0; damage < stack.getMaxDamage(); damage++) {
+        stack.setDamage(damage);
+        recorder.record(damage, stack, 0);
+        if (checker.checkItemStackPacked(stack, 0, damage) != DurabilityChecker.NO_ALERT) {
+          alerts++;
+        }
+      }
+    }
+
+    var files = DurabilityTraceReplayer.findTraceFiles(traceDir);
+    var result = DurabilityTraceReplayer.replay(files, new DurabilityAlertConfig());
+    assertThat(result.events()).isEqualTo(stack.getMaxDamage());
+    assertThat(result.alerts()).isEqualTo(alerts);
+
+    var config = new DurabilityAlertConfig();
+    config.alertCutoffs = CutoffSet.of(50);
+    assertThat(DurabilityTraceReplayer.replay(files, config).alerts()).isEqualTo(1);
+  }
+}
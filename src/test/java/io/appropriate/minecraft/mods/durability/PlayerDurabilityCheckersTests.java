@@ -0,0 +1,171 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PlayerDurabilityCheckersTests {
+  private static final int PLAYERS = 256;
+  private static final int THREADS = 8;
+
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  /**
+   * Damages a fresh pickaxe one point at a time until it is about to break, counting alerts.
+   */
+  private static int wearOutPickaxe(PlayerDurabilityCheckers checkers, UUID player) {
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    var alerts = 0;
+    for (int damage = 0; damage < stack.getMaxDamage(); damage++) {
+      stack.setDamage(damage);
+      if (checkers.check(player, stack, 0, damage) != DurabilityChecker.NO_ALERT) {
+        alerts++;
+      }
+    }
+    return alerts;
+  }
+
+  @DisplayName("Each player has their own alert history")
+  @Test
+  void keepsSeparateHistoryPerPlayer() {
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig());
+    var first = UUID.randomUUID();
+    var second = UUID.randomUUID();
+
+    var expected = wearOutPickaxe(checkers, first);
+    assertThat(expected).isGreaterThan(0);
+    assertThat(wearOutPickaxe(checkers, second)).isEqualTo(expected);
+    assertThat(checkers.size()).isEqualTo(2);
+  }
+
+  @DisplayName("Players can be checked concurrently")
+  @Test
+  void checksPlayersConcurrently() throws Exception {
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig());
+    var expected = wearOutPickaxe(
+        new PlayerDurabilityCheckers(new DurabilityAlertConfig()), UUID.randomUUID());
+
+    var executor = Executors.newFixedThreadPool(THREADS);
+    try {
+      var start = new CountDownLatch(1);
+      var results = new ArrayList<Future<Integer>>();
+      for (int i = 0; i < PLAYERS; i++) {
+        var player = UUID.randomUUID();
+        results.add(executor.submit(() -> {
+          start.await();
+          return wearOutPickaxe(checkers, player);
+        }));
+      }
+
+      start.countDown();
+      for (var result : results) {
+        assertThat(result.get()).isEqualTo(expected);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(checkers.size()).isEqualTo(PLAYERS);
+  }
+
+  @DisplayName("Concurrent new players never go past the maximum")
+  @Test
+  void stopsTrackingAtMaximumConcurrently() throws Exception {
+    var maximum = PLAYERS / 4;
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig(), maximum);
+
+    var executor = Executors.newFixedThreadPool(THREADS);
+    var tracked = 0;
+    try {
+      var start = new CountDownLatch(1);
+      var results = new ArrayList<Future<Integer>>();
+      for (int i = 0; i < PLAYERS; i++) {
+        var player = UUID.randomUUID();
+        results.add(executor.submit(() -> {
+          start.await();
+          return wearOutPickaxe(checkers, player);
+        }));
+      }
+
+      start.countDown();
+      for (var result : results) {
+        if (result.get() > 0) {
+          tracked++;
+        }
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertThat(tracked).isEqualTo(maximum);
+    assertThat(checkers.size()).isEqualTo(maximum);
+  }
+
+  @DisplayName("Updating the config applies to every tracked player")
+  @Test
+  void updatesConfigForEveryPlayer() {
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig());
+    var player = UUID.randomUUID();
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 1);
+    checkers.check(player, stack, 0, 0);
+
+    var config = new DurabilityAlertConfig();
+    config.disabled = true;
+    checkers.updateConfig(config);
+    assertThat(checkers.check(player, stack, 1, 1)).isEqualTo(DurabilityChecker.NO_ALERT);
+    assertThat(checkers.check(UUID.randomUUID(), stack, 0, 2))
+        .isEqualTo(DurabilityChecker.NO_ALERT);
+  }
+
+  @DisplayName("No new players are tracked past the maximum")
+  @Test
+  void stopsTrackingAtMaximum() {
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig(), 2);
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 1);
+
+    assertThat(checkers.check(UUID.randomUUID(), stack, 0, 0))
+        .isNotEqualTo(DurabilityChecker.NO_ALERT);
+    var second = UUID.randomUUID();
+    assertThat(checkers.check(second, stack, 0, 0)).isNotEqualTo(DurabilityChecker.NO_ALERT);
+    assertThat(checkers.check(UUID.randomUUID(), stack, 0, 0))
+        .isEqualTo(DurabilityChecker.NO_ALERT);
+    assertThat(checkers.size()).isEqualTo(2);
+
+    checkers.remove(second);
+    assertThat(checkers.size()).isEqualTo(1);
+    assertThat(checkers.check(UUID.randomUUID(), stack, 0, 0))
+        .isNotEqualTo(DurabilityChecker.NO_ALERT);
+  }
+
+  @DisplayName("Removed players start with a fresh alert history")
+  @Test
+  void forgetsRemovedPlayers() {
+    var checkers = new PlayerDurabilityCheckers(new DurabilityAlertConfig());
+    var player = UUID.randomUUID();
+    var stack = new ItemStack(DIAMOND_PICKAXE);
+    stack.setDamage(stack.getMaxDamage() - 1);
+
+    assertThat(checkers.check(player, stack, 0, 0)).isNotEqualTo(DurabilityChecker.NO_ALERT);
+    assertThat(checkers.check(player, stack, 0, 1)).isEqualTo(DurabilityChecker.NO_ALERT);
+
+    checkers.remove(player);
+    assertThat(checkers.check(player, stack, 0, 2)).isNotEqualTo(DurabilityChecker.NO_ALERT);
+  }
+}
@@ -0,0 +1,92 @@
+package io.appropriate.minecraft.mods.durability;
+
+import static com.google.common.truth.Truth.assertThat;
+import static net.minecraft.item.Items.DIAMOND_PICKAXE;
+import static net.minecraft.item.Items.DIAMOND_SWORD;
+import static net.minecraft.item.Items.STICK;
+
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.ItemStack;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SlotDamageTrackerTests {
+  @BeforeAll
+  static void initMinecraft() {
+    SharedConstants.createGameVersion();
+    Bootstrap.initialize();
+  }
+
+  private static ItemStack damaged(ItemStack stack, int damage) {
+    stack.setDamage(damage);
+    return stack;
+  }
+
+  @DisplayName("A slot whose item and damage are unchanged is not reported")
+  @Test
+  void skipsUnchangedSlots() {
+    var tracker = new SlotDamageTracker();
+
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isTrue();
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isFalse();
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isFalse();
+
+    assertThat(tracker.update(1, new ItemStack(STICK))).isTrue();
+    assertThat(tracker.update(1, new ItemStack(STICK))).isFalse();
+  }
+
+  @DisplayName("A slot whose damage changed is reported")
+  @Test
+  void reportsDamageChanges() {
+    var tracker = new SlotDamageTracker();
+    var stack = damaged(new ItemStack(DIAMOND_PICKAXE), 10);
+
+    assertThat(tracker.update(0, stack)).isTrue();
+    stack.setDamage(11);
+    assertThat(tracker.update(0, stack)).isTrue();
+    assertThat(tracker.update(0, stack)).isFalse();
+    stack.setDamage(0);
+    assertThat(tracker.update(0, stack)).isTrue();
+  }
+
+  @DisplayName("A slot whose item was swapped is reported, even with the same damage")
+  @Test
+  void reportsSwappedItems() {
+    var tracker = new SlotDamageTracker();
+
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isTrue();
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_SWORD), 10))).isTrue();
+    assertThat(tracker.update(0, ItemStack.EMPTY)).isTrue();
+    assertThat(tracker.update(0, ItemStack.EMPTY)).isFalse();
+  }
+
+  @DisplayName("Slots are tracked independently")
+  @Test
+  void tracksSlotsIndependently() {
+    var tracker = new SlotDamageTracker();
+
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isTrue();
+    assertThat(tracker.update(39, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isTrue();
+    assertThat(tracker.update(0, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isFalse();
+    assertThat(tracker.update(39, damaged(new ItemStack(DIAMOND_PICKAXE), 10))).isFalse();
+  }
+
+  @DisplayName("Every slot is reported again after clearing")
+  @Test
+  void reportsEverySlotAfterClear() {
+    var tracker = new SlotDamageTracker();
+    var pickaxe = damaged(new ItemStack(DIAMOND_PICKAXE), 10);
+    var stick = new ItemStack(STICK);
+
+    tracker.update(0, pickaxe);
+    tracker.update(40, stick);
+    tracker.clear();
+
+    assertThat(tracker.update(0, pickaxe)).isTrue();
+    assertThat(tracker.update(40, stick)).isTrue();
+    assertThat(tracker.update(0, pickaxe)).isFalse();
+    assertThat(tracker.update(40, stick)).isFalse();
+  }
+}
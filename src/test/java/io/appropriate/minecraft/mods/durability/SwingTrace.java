@@ -0,0 +1,105 @@
+package io.appropriate.minecraft.mods.durability;
+
+import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
+import it.unimi.dsi.fastutil.bytes.ByteArrayList;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import net.minecraft.entity.player.PlayerInventory;
+import net.minecraft.util.Hand;
+
+/**
+ * A sequence of attacks, stored in parallel primitive arrays so that millions of events can be
+ * replayed without allocating. Traces are either generated, or loaded from the files written by a
+ * {@link DurabilityTraceRecorder} during a real session.
+ *
+ * @param ticks the tick of each attack, in ascending order
+ * @param slots the selected hotbar slot at each attack
+ * @param offHand whether each attack used the off hand
+ */
+record SwingTrace(int[] ticks, byte[] slots, boolean[] offHand) {
+  /**
+   * Generates a pseudo-random trace, which is the same for the same arguments.
+   *
+   * <p>Players mostly keep using the same slot for a while, swing up to a few times per tick, and
+   * occasionally attack with their off hand.
+   *
+   * @param seed the random seed
+   * @param events the number of attacks
+   * @param hotbarSlots the hotbar slots that may be selected
+   * @return a new trace
+   */
+  static SwingTrace generate(long seed, int events, int... hotbarSlots) {
+    var random = new Random(seed);
+    var ticks = new int[events];
+    var slots = new byte[events];
+    var offHand = new boolean[events];
+
+    var tick = 0;
+    var slot = hotbarSlots[0];
+    for (int i = 0; i < events; i++) {
+      tick += random.nextInt(3);
+      if (random.nextInt(100) == 0) {
+        slot = hotbarSlots[random.nextInt(hotbarSlots.length)];
+      }
+
+      ticks[i] = tick;
+      slots[i] = (byte) slot;
+      offHand[i] = random.nextInt(20) == 0;
+    }
+
+    return new SwingTrace(ticks, slots, offHand);
+  }
+
+  /**
+   * Loads the attacks from recorded durability trace files.
+   *
+   * <p>Only checks of the hotbar and off hand are kept, since other slots can't be used to attack.
+   * Recorded traces also include inventory scans, so not every kept event was an attack. Ticks are
+   * made relative to the first event, and off hand events keep the last hotbar slot seen.
+   *
+   * @param files the trace files, oldest first, as returned by
+   *     {@link DurabilityTraceReplayer#findTraceFiles(Path)}
+   * @return a new trace
+   * @throws IOException if a file cannot be read
+   */
+  static SwingTrace load(List<Path> files) throws IOException {
+    var ticks = new IntArrayList();
+    var slots = new ByteArrayList();
+    var offHand = new BooleanArrayList();
+    var first = new long[] {-1};
+    var selected = new int[1];
+
+    for (var file : files) {
+      DurabilityTraceReplayer.read(file, (tick, item, damage, maxDamage, slot, flags) -> {
+        var isOffHand = slot == PlayerInventory.OFF_HAND_SLOT;
+        if (!isOffHand && !PlayerInventory.isValidHotbarIndex(slot)) {
+          return;
+        }
+
+        if (first[0] < 0) {
+          first[0] = tick;
+        }
+        if (!isOffHand) {
+          selected[0] = slot;
+        }
+
+        ticks.add((int) (tick - first[0]));
+        slots.add((byte) selected[0]);
+        offHand.add(isOffHand);
+      });
+    }
+
+    return new SwingTrace(ticks.toIntArray(), slots.toByteArray(), offHand.toBooleanArray());
+  }
+
+  int size() {
+    return ticks.length;
+  }
+
+  Hand hand(int event) {
+    return offHand[event] ? Hand.OFF_HAND : Hand.MAIN_HAND;
+  }
+}